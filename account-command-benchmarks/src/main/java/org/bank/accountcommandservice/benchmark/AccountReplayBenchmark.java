@@ -0,0 +1,61 @@
+package org.bank.accountcommandservice.benchmark;
+
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.model.Account;
+import org.bank.accountcommandservice.domain.model.AccountSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountReplayBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int eventCount;
+
+    private List<DomainEvent> history;
+    private List<DomainEvent> tail;
+    private AccountSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        var accountId = UUID.randomUUID();
+        history = EventFixtures.history(accountId, eventCount);
+
+        var half = eventCount / 2;
+        var snapshotAccount = Account.build(history.subList(0, half));
+        snapshot = new AccountSnapshot(accountId, snapshotAccount.getAccountName(), snapshotAccount.getBalance(),
+                snapshotAccount.getVersion(), half - 1L, Instant.now());
+        tail = history.subList(half, eventCount);
+    }
+
+    @Benchmark
+    public Account buildFromHistory() {
+        return Account.build(history);
+    }
+
+    @Benchmark
+    public Account replayAfterSnapshot() {
+        var account = Account.loadSnapshot(snapshot);
+        account.replayEvents(tail);
+        return account;
+    }
+}
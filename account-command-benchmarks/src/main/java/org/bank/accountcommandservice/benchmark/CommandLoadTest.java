@@ -0,0 +1,98 @@
+package org.bank.accountcommandservice.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CommandLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        var options = parse(args);
+        var baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        var accountCount = Integer.parseInt(options.getOrDefault("accounts", "100"));
+        var requestCount = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        var concurrency = Integer.parseInt(options.getOrDefault("concurrency", "500"));
+
+        var client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<String> accountIds = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            var response = post(client, baseUrl + "/account/create", "{\"accountHolderName\":\"load-test-" + i + "\"}");
+            accountIds.add(response.body().substring(response.body().lastIndexOf(' ') + 1).trim());
+        }
+
+        var latencies = new long[requestCount];
+        var failures = new AtomicInteger();
+        var permits = new Semaphore(concurrency);
+        var started = System.nanoTime();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requestCount; i++) {
+                var request = i;
+                var accountId = accountIds.get(i % accountIds.size());
+                permits.acquire();
+                executor.submit(() -> {
+                    var requestStarted = System.nanoTime();
+                    try {
+                        var response = post(client, baseUrl + "/account/deposit",
+                                "{\"accountId\":\"" + accountId + "\",\"money\":{\"amount\":1.00}}");
+                        if (response.statusCode() >= 300) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                    finally {
+                        latencies[request] = System.nanoTime() - requestStarted;
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+        Arrays.sort(latencies);
+        System.out.printf("requests=%d concurrency=%d failures=%d elapsed=%d ms throughput=%.1f req/s%n",
+                requestCount, concurrency, failures.get(), elapsed.toMillis(), requestCount * 1_000_000_000.0 / elapsed.toNanos());
+        System.out.printf("latency p50=%.1f ms p95=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String url, String body) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        var index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (var arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
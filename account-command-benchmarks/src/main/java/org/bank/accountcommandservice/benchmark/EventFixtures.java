@@ -0,0 +1,39 @@
+package org.bank.accountcommandservice.benchmark;
+
+import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
+import org.bank.accountcommandservice.domain.event.BaseEvent;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
+import org.bank.accountcommandservice.domain.event.MoneyWithdrawnEvent;
+import org.bank.accountcommandservice.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+final class EventFixtures {
+
+    private static final Money DEPOSIT = new Money(new BigDecimal("15.25"));
+    private static final Money WITHDRAWAL = new Money(new BigDecimal("10.10"));
+
+    private EventFixtures() {
+    }
+
+    static List<DomainEvent> history(UUID accountId, int eventCount) {
+        List<DomainEvent> events = new ArrayList<>(eventCount);
+        for (int version = 0; version < eventCount; version++) {
+            events.add(event(accountId, version));
+        }
+        return events;
+    }
+
+    static DomainEvent event(UUID accountId, int version) {
+        if (version == 0) {
+            return new AccountCreatedEvent(BaseEvent.newBaseEvent(accountId, 0), "Benchmark Account", new Money(BigDecimal.ZERO));
+        }
+        return version % 3 == 0
+                ? new MoneyWithdrawnEvent(BaseEvent.newBaseEvent(accountId, version), WITHDRAWAL)
+                : new MoneyDepositedEvent(BaseEvent.newBaseEvent(accountId, version), DEPOSIT);
+    }
+}
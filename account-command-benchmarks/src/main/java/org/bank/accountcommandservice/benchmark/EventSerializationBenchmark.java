@@ -0,0 +1,96 @@
+package org.bank.accountcommandservice.benchmark;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventDeserializer;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final String TOPIC = "account-events";
+
+    @Param({"0", "1", "3"})
+    public int eventVersion;
+
+    private DomainEvent event;
+
+    private JsonSerializer<Object> jsonSerializer;
+    private JsonDeserializer<Object> jsonDeserializer;
+    private RecordHeaders jsonHeaders;
+    private byte[] jsonBytes;
+
+    private AccountEventSerializer binarySerializer;
+    private AccountEventDeserializer binaryDeserializer;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        event = EventFixtures.event(UUID.randomUUID(), eventVersion);
+
+        jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, true), false);
+        jsonDeserializer = new JsonDeserializer<>();
+        jsonDeserializer.configure(Map.of(
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, true,
+                JsonDeserializer.TRUSTED_PACKAGES, "org.bank.accountcommandservice.domain.*"
+        ), false);
+        jsonHeaders = new RecordHeaders();
+        jsonBytes = jsonSerializer.serialize(TOPIC, jsonHeaders, event);
+
+        binarySerializer = new AccountEventSerializer();
+        binaryDeserializer = new AccountEventDeserializer();
+        binaryDeserializer.configure(Map.of(), false);
+        binaryBytes = binarySerializer.serialize(TOPIC, event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jsonSerializer.close();
+        jsonDeserializer.close();
+        binaryDeserializer.close();
+    }
+
+    @Benchmark
+    public byte[] jsonSerialize() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public Object jsonDeserialize() {
+        return jsonDeserializer.deserialize(TOPIC, jsonHeaders, jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return binarySerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public Object binaryDeserialize() {
+        return binaryDeserializer.deserialize(TOPIC, binaryBytes);
+    }
+}
@@ -0,0 +1,166 @@
+package org.bank.accountcommandservice.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.bank.accountcommandservice.domain.model.EventStream;
+import org.bank.accountcommandservice.infrastructure.eventStore.AccountOffsetIndex;
+import org.bank.accountcommandservice.infrastructure.eventStore.KafkaEventStore;
+import org.bank.accountcommandservice.infrastructure.eventStore.ReplayConsumerPool;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventDeserializer;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventSerializer;
+import org.bank.accountcommandservice.infrastructure.serialization.EventHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaReplayBenchmark {
+
+    private static final String TOPIC = "account-events-benchmark";
+    private static final int PARTITIONS = 1;
+    private static final int EVENTS_PER_OTHER_ACCOUNT = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int recordsPerPartition;
+
+    @Param({"50"})
+    public int accountEvents;
+
+    @Param({"false", "true"})
+    public boolean offsetIndexEnabled;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private ReplayConsumerPool consumerPool;
+    private AccountOffsetIndex offsetIndex;
+    private KafkaEventStore eventStore;
+    private UUID accountId;
+
+    @Setup
+    public void setUp() throws Exception {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> producerProps = new HashMap<>();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, AccountEventSerializer.class);
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        producerFactory = new DefaultKafkaProducerFactory<>(producerProps);
+        var kafkaTemplate = new KafkaTemplate<>(producerFactory);
+
+        accountId = UUID.randomUUID();
+        fillPartition(kafkaTemplate);
+
+        offsetIndex = new AccountOffsetIndex(TOPIC, PARTITIONS, offsetIndexEnabled, 100_000, () -> newConsumer("benchmark-offset-index"));
+        offsetIndex.start();
+        if (offsetIndexEnabled) {
+            awaitIndexed();
+        }
+
+        consumerPool = new ReplayConsumerPool(TOPIC, PARTITIONS, 1, false, 1, Duration.ofSeconds(5), true,
+                () -> newConsumer("benchmark-replay"), new SimpleMeterRegistry());
+        consumerPool.warmUp();
+
+        var eventDeserializer = new AccountEventDeserializer();
+        eventDeserializer.configure(Map.of(), false);
+        eventStore = new KafkaEventStore(TOPIC, PARTITIONS, Duration.ofSeconds(30), 100_000, 1, consumerPool, kafkaTemplate,
+                offsetIndex, eventDeserializer);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        eventStore.close();
+        consumerPool.close();
+        offsetIndex.stop();
+        producerFactory.destroy();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public EventStream loadEventStream() {
+        return eventStore.loadEventStream(accountId);
+    }
+
+    private void fillPartition(KafkaTemplate<String, Object> kafkaTemplate) {
+        var otherRecords = Math.max(0, recordsPerPartition - accountEvents);
+        var interval = Math.max(1, recordsPerPartition / Math.max(1, accountEvents));
+
+        List<UUID> otherAccounts = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, otherRecords / EVENTS_PER_OTHER_ACCOUNT); i++) {
+            otherAccounts.add(UUID.randomUUID());
+        }
+        var otherVersions = new int[otherAccounts.size()];
+
+        var accountVersion = 0;
+        var otherIndex = 0;
+        for (int offset = 0; offset < recordsPerPartition; offset++) {
+            if (accountVersion < accountEvents && (offset % interval == 0 || recordsPerPartition - offset <= accountEvents - accountVersion)) {
+                send(kafkaTemplate, accountId, accountVersion++);
+            }
+            else {
+                var slot = otherIndex++ % otherAccounts.size();
+                send(kafkaTemplate, otherAccounts.get(slot), otherVersions[slot]++);
+            }
+        }
+        kafkaTemplate.flush();
+    }
+
+    private void send(KafkaTemplate<String, Object> kafkaTemplate, UUID id, int version) {
+        kafkaTemplate.send(new ProducerRecord<>(TOPIC, null, id.toString(), EventFixtures.event(id, version),
+                EventHeaders.of(id, version)));
+    }
+
+    private void awaitIndexed() throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (offsetIndex.indexedUpTo(0) < recordsPerPartition) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Offset index did not catch up with " + recordsPerPartition + " records");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private <V> KafkaConsumer<String, V> newConsumer(String groupPrefix) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupPrefix + "-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        return new KafkaConsumer<>(props);
+    }
+}
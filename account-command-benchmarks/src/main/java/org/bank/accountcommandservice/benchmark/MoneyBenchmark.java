@@ -0,0 +1,53 @@
+package org.bank.accountcommandservice.benchmark;
+
+import org.bank.accountcommandservice.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"100.00", "123456789.99"})
+    public String balance;
+
+    private Money money;
+    private BigDecimal amount;
+
+    @Setup
+    public void setUp() {
+        money = new Money(new BigDecimal(balance));
+        amount = new BigDecimal("42.17");
+    }
+
+    @Benchmark
+    public Money deposit() {
+        return money.deposit(amount);
+    }
+
+    @Benchmark
+    public Money withdraw() {
+        return money.withdraw(amount);
+    }
+
+    @Benchmark
+    public Money depositThenWithdraw() {
+        return money.deposit(amount).withdraw(amount);
+    }
+}
@@ -2,8 +2,10 @@ package org.bank.accountcommandservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AccountCommandServiceApplication {
 
     public static void main(String[] args) {
@@ -2,8 +2,12 @@ package org.bank.accountcommandservice.application;
 
 
 import org.bank.accountcommandservice.domain.command.AccountCreateCommand;
+import org.bank.accountcommandservice.domain.command.MoneyCommand;
 import org.bank.accountcommandservice.domain.command.MoneyDepositCommand;
 import org.bank.accountcommandservice.domain.command.MoneyWithdrawCommand;
+import org.bank.accountcommandservice.domain.exception.InvalidAccountOperationException;
+import org.bank.accountcommandservice.domain.exception.NegativeAmountException;
+import org.bank.accountcommandservice.domain.exception.NotEnoughMoneyException;
 import org.bank.accountcommandservice.domain.model.Account;
 import org.bank.accountcommandservice.domain.model.AccountSnapshot;
 import org.bank.accountcommandservice.domain.repository.EventStore;
@@ -13,89 +17,316 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
 @Service
 public class AccountApplicationService {
 
     private final EventStore eventStore;
     private final SnapshotStore snapshotStore;
-    private final int snapshotFrequency;
+    private final SnapshotWriter snapshotWriter;
+    private final SnapshotPolicy snapshotPolicy;
+    private final AccountCache accountCache;
+    private final AccountLocks accountLocks;
+    private final CommandMetrics commandMetrics;
+    private final int batchMaxSize;
+    private final int batchParallelism;
 
     @Autowired
     public AccountApplicationService(EventStore eventStore,
                                      SnapshotStore snapshotStore,
-                                     @Value("${app.snapshot.frequency}") int snapshotFrequency) {
+                                     SnapshotWriter snapshotWriter,
+                                     SnapshotPolicy snapshotPolicy,
+                                     AccountCache accountCache,
+                                     AccountLocks accountLocks,
+                                     CommandMetrics commandMetrics,
+                                     @Value("${app.command.batch.max-size:10000}") int batchMaxSize,
+                                     @Value("${app.command.batch.parallelism:16}") int batchParallelism) {
         this.eventStore = eventStore;
         this.snapshotStore = snapshotStore;
-        this.snapshotFrequency = snapshotFrequency;
+        this.snapshotWriter = snapshotWriter;
+        this.snapshotPolicy = snapshotPolicy;
+        this.accountCache = accountCache;
+        this.accountLocks = accountLocks;
+        this.commandMetrics = commandMetrics;
+        this.batchMaxSize = batchMaxSize;
+        this.batchParallelism = Math.max(1, batchParallelism);
     }
 
-    @Transactional
-    public void accountWithdraw(MoneyWithdrawCommand command) {
-        var account = getAccount(command.accountId())
-                .orElseThrow(() -> new AccountNotFoundException("Account not found for withdrawal: " + command.accountId()));
+    public CompletableFuture<Void> accountWithdraw(MoneyWithdrawCommand command) {
+        return commandMetrics.observeAsync("withdraw", () -> {
+            var loaded = getAccount(command.accountId())
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found for withdrawal: " + command.accountId()));
 
-        account.withdraw(command);
-        var lastOffset = eventStore.saveEvents(account.getAccountId(), account.getUncommittedChanges());
-        account.markChangesAsCommitted();
+            loaded.account().withdraw(command);
+            return commitChangesAsync(loaded.account(), loaded.snapshotContext()).thenAccept(committedContext -> {});
+        });
+    }
+
+    public CompletableFuture<Void> accountDeposit(MoneyDepositCommand command) {
+        return commandMetrics.observeAsync("deposit", () -> {
+            var loaded = getAccount(command.accountId()).orElseThrow(() -> new AccountNotFoundException("Account not found for deposit" + command.accountId()));
+            loaded.account().deposit(command);
+            return commitChangesAsync(loaded.account(), loaded.snapshotContext()).thenAccept(committedContext -> {});
+        });
+    }
+
+    public List<CommandResult> accountBatch(List<MoneyCommand> commands) {
+        return accountBatch(commands, this::applyAccountBatch);
+    }
+
+    public List<CommandResult> accountBatch(List<MoneyCommand> commands, AccountBatchHandler handler) {
+        return commandMetrics.observe("batch", () -> applyBatch(commands, handler));
+    }
+
+    private List<CommandResult> applyBatch(List<MoneyCommand> commands, AccountBatchHandler handler) {
+        if (commands.size() > batchMaxSize) {
+            throw new InvalidAccountOperationException("Batch contains " + commands.size() + " commands, the limit is " + batchMaxSize);
+        }
+
+        var results = new CommandResult[commands.size()];
+        Map<UUID, List<Integer>> indexesByAccount = new LinkedHashMap<>();
+        for (int index = 0; index < commands.size(); index++) {
+            var command = commands.get(index);
+            if (command == null || command.accountId() == null || command.money() == null) {
+                results[index] = CommandResult.rejected(index, command == null ? null : command.accountId(), "command must have an accountId and money");
+                continue;
+            }
+            indexesByAccount.computeIfAbsent(command.accountId(), id -> new ArrayList<>()).add(index);
+        }
 
-        if (snapshotFrequency > 0 && lastOffset != -1L && account.getVersion() % snapshotFrequency == 0) {
-            takeSnapshot(account, lastOffset);
+        var permits = new Semaphore(batchParallelism);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var entry : indexesByAccount.entrySet()) {
+                permits.acquireUninterruptibly();
+                executor.submit(() -> {
+                    try {
+                        applyAccountGroup(entry.getKey(), entry.getValue(), commands, results, handler);
+                    }
+                    finally {
+                        permits.release();
+                    }
+                });
+            }
         }
+
+        return List.of(results);
     }
 
-    @Transactional
-    public void accountDeposit(MoneyDepositCommand command) {
-        var account = getAccount(command.accountId()).orElseThrow(() -> new AccountNotFoundException("Account not found for deposit" + command.accountId()));
-        account.deposit(command);
-        var lastOffset = eventStore.saveEvents(account.getAccountId(), account.getUncommittedChanges());
-        account.markChangesAsCommitted();
+    private static void applyAccountGroup(UUID accountId, List<Integer> indexes, List<MoneyCommand> commands, CommandResult[] results,
+                                          AccountBatchHandler handler) {
+        try {
+            var groupResults = handler.apply(accountId, indexes.stream().map(commands::get).toList());
+            if (groupResults.size() != indexes.size()) {
+                throw new IllegalStateException("Expected " + indexes.size() + " results for accountId " + accountId + ", got " + groupResults.size());
+            }
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = groupResults.get(i).withIndex(indexes.get(i));
+            }
+        }
+        catch (RuntimeException e) {
+            for (var index : indexes) {
+                results[index] = CommandResult.failed(index, accountId, e.getMessage());
+            }
+        }
+    }
 
-        if (snapshotFrequency > 0 && lastOffset != -1L && account.getVersion() % snapshotFrequency == 0) {
-            takeSnapshot(account, lastOffset);
+    public List<CommandResult> applyAccountBatch(UUID accountId, List<MoneyCommand> commands) {
+        return accountLocks.withLock(accountId, () -> {
+            var loaded = getAccount(accountId);
+            if (loaded.isEmpty()) {
+                return rejectAll(accountId, commands, "Account not found: " + accountId);
+            }
+            return applyCommands(loaded.get().account(), commands, account -> commitChanges(account, loaded.get().snapshotContext()));
+        });
+    }
+
+    static List<CommandResult> applyCommands(Account account, List<MoneyCommand> commands, Consumer<Account> commit) {
+        var accountId = account.getAccountId();
+        List<CommandResult> results = new ArrayList<>(commands.size());
+        for (int index = 0; index < commands.size(); index++) {
+            try {
+                switch (commands.get(index)) {
+                    case MoneyDepositCommand deposit -> account.deposit(deposit);
+                    case MoneyWithdrawCommand withdraw -> account.withdraw(withdraw);
+                }
+                results.add(CommandResult.applied(index, accountId, account.getVersion()));
+            }
+            catch (NotEnoughMoneyException | NegativeAmountException | InvalidAccountOperationException e) {
+                results.add(CommandResult.rejected(index, accountId, e.getMessage()));
+            }
+        }
+
+        try {
+            commit.accept(account);
         }
+        catch (RuntimeException e) {
+            results.replaceAll(result -> result.status() == CommandResult.Status.APPLIED
+                    ? CommandResult.failed(result.index(), accountId, e.getMessage())
+                    : result);
+        }
+        return results;
+    }
+
+    static List<CommandResult> rejectAll(UUID accountId, List<MoneyCommand> commands, String error) {
+        List<CommandResult> results = new ArrayList<>(commands.size());
+        for (int index = 0; index < commands.size(); index++) {
+            results.add(CommandResult.rejected(index, accountId, error));
+        }
+        return results;
     }
 
     @Transactional
     public String accountCreate(AccountCreateCommand command) {
-        var account = new Account(command);
-        eventStore.saveEvents(account.getAccountId(), account.getUncommittedChanges());
+        return commandMetrics.observe("create", () -> {
+            var account = new Account(command);
+            commitChanges(account, SnapshotContext.snapshotAt(0, Instant.now()));
+
+            return account.getAccountId().toString();
+        });
+    }
+
+    SnapshotContext commitChanges(Account account, SnapshotContext snapshotContext) {
+        long lastOffset;
+        var changes = account.getUncommittedChanges();
+        var appendStartedAt = System.nanoTime();
+        try {
+            lastOffset = eventStore.saveEvents(account.getAccountId(), account.getCommittedVersion(), changes);
+        }
+        catch (RuntimeException e) {
+            appendFailed(account, changes.size(), appendStartedAt);
+            throw e;
+        }
+        return appended(account, snapshotContext, changes.size(), lastOffset, appendStartedAt);
+    }
+
+    CompletableFuture<SnapshotContext> commitChangesAsync(Account account, SnapshotContext snapshotContext) {
+        var changes = account.getUncommittedChanges();
+        var appendStartedAt = System.nanoTime();
+        CompletableFuture<Long> append;
+        try {
+            append = eventStore.saveEventsAsync(account.getAccountId(), account.getCommittedVersion(), changes);
+        }
+        catch (RuntimeException e) {
+            append = CompletableFuture.failedFuture(e);
+        }
+        return append.handle((lastOffset, error) -> {
+            if (error != null) {
+                appendFailed(account, changes.size(), appendStartedAt);
+                throw error instanceof CompletionException completionException ? completionException : new CompletionException(error);
+            }
+            return appended(account, snapshotContext, changes.size(), lastOffset, appendStartedAt);
+        });
+    }
+
+    private void appendFailed(Account account, int events, long appendStartedAt) {
+        commandMetrics.recordAppend(events, appendStartedAt, false);
+        accountCache.invalidate(account.getAccountId());
+    }
+
+    private SnapshotContext appended(Account account, SnapshotContext snapshotContext, int events, long lastOffset, long appendStartedAt) {
+        if (events > 0) {
+            commandMetrics.recordAppend(events, appendStartedAt, true);
+        }
         account.markChangesAsCommitted();
 
-        return account.getAccountId().toString();
+        if (lastOffset == -1L) {
+            return snapshotContext;
+        }
+
+        AccountSnapshot snapshot = null;
+        if (snapshotPolicy.shouldSnapshot(account, snapshotContext)) {
+            var createdAt = Instant.now();
+            snapshot = snapshotOf(account, lastOffset, createdAt);
+            snapshotContext = SnapshotContext.snapshotAt(account.getVersion(), createdAt);
+        }
+        var committedSnapshot = snapshot;
+        var committedContext = snapshotContext;
+        afterCommit(account.getAccountId(), () -> {
+            if (committedSnapshot != null) {
+                snapshotWriter.submit(committedSnapshot);
+            }
+            accountCache.put(account, lastOffset, committedContext);
+        });
+        return snapshotContext;
+    }
+
+    private void afterCommit(UUID accountId, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+                else {
+                    accountCache.invalidate(accountId);
+                }
+            }
+        });
     }
 
-    private Optional<Account> getAccount(UUID accountId) {
+    Optional<LoadedAccount> getAccount(UUID accountId) {
+        var startedAt = System.nanoTime();
+        var cached = accountCache.get(accountId);
+        if (cached.isPresent()) {
+            commandMetrics.recordLoad(CommandMetrics.LoadSource.CACHE, startedAt);
+            return Optional.of(new LoadedAccount(Account.loadSnapshot(cached.get().state()), cached.get().snapshotContext()));
+        }
+
         var snapShot = snapshotStore.getLastSnapshot(accountId);
         if (snapShot.isPresent()){
             var events = eventStore.loadEventStreamAfter(snapShot.get().accountId(), snapShot.get().offset(), snapShot.get().version());
             var currentAccount = Account.loadSnapshot(snapShot.get());
             currentAccount.replayEvents(events.events());
-            return Optional.of(currentAccount);
+            commandMetrics.recordReplay(events.replayStats());
+            commandMetrics.recordLoad(CommandMetrics.LoadSource.SNAPSHOT, startedAt);
+            return Optional.of(new LoadedAccount(currentAccount, SnapshotContext.replayedFrom(snapShot.get().version(), snapShot.get().createdAt(), events.replayStats())));
         }
 
         var events = eventStore.loadEventStream(accountId);
+        commandMetrics.recordReplay(events.replayStats());
         if (events.isEmpty()){
+            commandMetrics.recordLoad(CommandMetrics.LoadSource.MISSING, startedAt);
             return Optional.empty();
         }
 
-        return Optional.of(Account.build(events.events()));
+        commandMetrics.recordLoad(CommandMetrics.LoadSource.EVENTS, startedAt);
+        var createdAt = events.events().getFirst().baseEvent().timestamp().atZone(ZoneId.systemDefault()).toInstant();
+        return Optional.of(new LoadedAccount(Account.build(events.events()), SnapshotContext.replayedFrom(0, createdAt, events.replayStats())));
 
     }
 
-    public void takeSnapshot(Account account, long lastOffset) {
-        snapshotStore.saveSnapshot(
-                new AccountSnapshot(
-                        account.getAccountId(),
-                        account.getAccountName(),
-                        account.getBalance(),
-                        account.getVersion(),
-                        lastOffset
-                )
+    private static AccountSnapshot snapshotOf(Account account, long lastOffset, Instant createdAt) {
+        return new AccountSnapshot(
+                account.getAccountId(),
+                account.getAccountName(),
+                account.getBalance(),
+                account.getVersion(),
+                lastOffset,
+                createdAt
         );
     }
 
+    record LoadedAccount(Account account, SnapshotContext snapshotContext) {
+    }
+
 }
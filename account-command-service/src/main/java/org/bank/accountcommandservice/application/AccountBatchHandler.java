@@ -0,0 +1,12 @@
+package org.bank.accountcommandservice.application;
+
+import org.bank.accountcommandservice.domain.command.MoneyCommand;
+
+import java.util.List;
+import java.util.UUID;
+
+@FunctionalInterface
+public interface AccountBatchHandler {
+
+    List<CommandResult> apply(UUID accountId, List<MoneyCommand> commands);
+}
@@ -0,0 +1,126 @@
+package org.bank.accountcommandservice.application;
+
+import org.bank.accountcommandservice.domain.model.Account;
+import org.bank.accountcommandservice.domain.model.AccountSnapshot;
+import org.bank.accountcommandservice.domain.repository.EventStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+@Component
+public class AccountCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountCache.class);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<UUID, Entry> accounts;
+    private final Lock lock = new ReentrantLock();
+
+    @Autowired
+    public AccountCache(@Value("${app.account-cache.max-size:10000}") int maxSize,
+                        @Value("${app.account-cache.ttl:5m}") Duration ttl,
+                        @Value("${app.account-cache.single-writer:false}") boolean singleWriter,
+                        @Value("${app.command.partition-affinity.enabled:false}") boolean partitionAffinity,
+                        EventStore eventStore) {
+        this(singleWriter || partitionAffinity || eventStore.enforcesExpectedVersion() ? maxSize : 0, ttl);
+        if (this.maxSize <= 0 && maxSize > 0) {
+            log.info("Account cache disabled: {} does not reject appends from other instances at a stale version",
+                    eventStore.getClass().getSimpleName());
+        }
+    }
+
+    public AccountCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.accounts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > AccountCache.this.maxSize;
+            }
+        };
+    }
+
+    public Optional<CachedAccount> get(UUID accountId) {
+        if (maxSize <= 0) {
+            return Optional.empty();
+        }
+        lock.lock();
+        try {
+            var entry = accounts.get(accountId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (System.nanoTime() - entry.cachedAt() > ttlNanos) {
+                accounts.remove(accountId);
+                return Optional.empty();
+            }
+            return Optional.of(entry.account());
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(Account account, long lastOffset, SnapshotContext snapshotContext) {
+        if (maxSize <= 0) {
+            return;
+        }
+        var state = new AccountSnapshot(
+                account.getAccountId(),
+                account.getAccountName(),
+                account.getBalance(),
+                account.getVersion(),
+                lastOffset,
+                snapshotContext.snapshotCreatedAt()
+        );
+        lock.lock();
+        try {
+            var entry = accounts.get(state.accountId());
+            if (entry != null && entry.account().state().version() > state.version()) {
+                return;
+            }
+            accounts.put(state.accountId(), new Entry(new CachedAccount(state, snapshotContext), System.nanoTime()));
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(UUID accountId) {
+        lock.lock();
+        try {
+            accounts.remove(accountId);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateIf(Predicate<UUID> accountIds) {
+        lock.lock();
+        try {
+            accounts.keySet().removeIf(accountIds);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public record CachedAccount(AccountSnapshot state, SnapshotContext snapshotContext) {
+    }
+
+    private record Entry(CachedAccount account, long cachedAt) {
+    }
+}
@@ -0,0 +1,60 @@
+package org.bank.accountcommandservice.application;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+@Component
+public class AccountLocks {
+
+    private final Semaphore[] stripes;
+
+    public AccountLocks(@Value("${app.command.lock-stripes:1024}") int stripeCount) {
+        this.stripes = new Semaphore[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Semaphore(1);
+        }
+    }
+
+    public <T> T withLock(UUID accountId, Supplier<T> action) {
+        var stripe = stripeFor(accountId);
+        stripe.acquireUninterruptibly();
+        try {
+            return action.get();
+        }
+        finally {
+            stripe.release();
+        }
+    }
+
+    public <T> CompletableFuture<T> withLockAsync(UUID accountId, Supplier<CompletableFuture<T>> action) {
+        var stripe = stripeFor(accountId);
+        stripe.acquireUninterruptibly();
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        }
+        catch (RuntimeException e) {
+            stripe.release();
+            throw e;
+        }
+        return result.whenComplete((value, error) -> stripe.release());
+    }
+
+    public void withLock(UUID accountId, Runnable action) {
+        withLock(accountId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private Semaphore stripeFor(UUID accountId) {
+        int hash = accountId.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+}
@@ -0,0 +1,142 @@
+package org.bank.accountcommandservice.application;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.bank.accountcommandservice.domain.model.ReplayStats;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class CommandMetrics {
+
+    public enum LoadSource {
+        CACHE, SNAPSHOT, EVENTS, MISSING
+    }
+
+    private final ObservationRegistry observationRegistry;
+    private final Map<LoadSource, Timer> loadTimers = new EnumMap<>(LoadSource.class);
+    private final Timer replayTimer;
+    private final DistributionSummary replayRecordsScanned;
+    private final DistributionSummary replayRecordsMatched;
+    private final DistributionSummary replayBytesScanned;
+    private final DistributionSummary replayPolls;
+    private final Timer appendTimer;
+    private final Timer appendFailedTimer;
+    private final Timer appendPerEventTimer;
+    private final DistributionSummary appendEvents;
+
+    public CommandMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+
+        for (var source : LoadSource.values()) {
+            loadTimers.put(source, Timer.builder("command.account.load")
+                    .description("Time to load an account before applying a command, by where its state came from")
+                    .tag("source", source.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        this.replayTimer = Timer.builder("command.replay")
+                .description("Time spent reading events from the event store to rebuild an account")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.replayRecordsScanned = DistributionSummary.builder("command.replay.records.scanned")
+                .description("Records read from the event store per replay")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.replayRecordsMatched = DistributionSummary.builder("command.replay.records.matched")
+                .description("Records per replay that belonged to the account")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.replayBytesScanned = DistributionSummary.builder("command.replay.bytes.scanned")
+                .description("Bytes read from the event store per replay")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.replayPolls = DistributionSummary.builder("command.replay.polls")
+                .description("Broker polls per replay")
+                .register(meterRegistry);
+
+        this.appendTimer = appendTimer("success", meterRegistry);
+        this.appendFailedTimer = appendTimer("failure", meterRegistry);
+        this.appendPerEventTimer = Timer.builder("command.append.per.event")
+                .description("Append time divided by the number of events appended")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.appendEvents = DistributionSummary.builder("command.append.events")
+                .description("Events appended per command")
+                .register(meterRegistry);
+    }
+
+    private static Timer appendTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("command.append")
+                .description("Time until the event store acknowledged the appended events")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T> T observe(String command, Supplier<T> action) {
+        return Observation.createNotStarted("account.command", observationRegistry)
+                .lowCardinalityKeyValue("command", command)
+                .observe(action);
+    }
+
+    public void observe(String command, Runnable action) {
+        Observation.createNotStarted("account.command", observationRegistry)
+                .lowCardinalityKeyValue("command", command)
+                .observe(action);
+    }
+
+    public <T> CompletableFuture<T> observeAsync(String command, Supplier<CompletableFuture<T>> action) {
+        var observation = Observation.createNotStarted("account.command", observationRegistry)
+                .lowCardinalityKeyValue("command", command)
+                .start();
+        CompletableFuture<T> result;
+        try (var scope = observation.openScope()) {
+            result = action.get();
+        }
+        catch (RuntimeException e) {
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+        return result.whenComplete((value, error) -> {
+            if (error != null) {
+                observation.error(error);
+            }
+            observation.stop();
+        });
+    }
+
+    public void recordLoad(LoadSource source, long startedAt) {
+        loadTimers.get(source).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordReplay(ReplayStats stats) {
+        replayTimer.record(stats.elapsed());
+        replayRecordsScanned.record(stats.recordsScanned());
+        replayRecordsMatched.record(stats.recordsMatched());
+        replayBytesScanned.record(stats.bytesScanned());
+        replayPolls.record(stats.pollCount());
+    }
+
+    public void recordAppend(int events, long startedAt, boolean succeeded) {
+        var elapsed = System.nanoTime() - startedAt;
+        if (!succeeded) {
+            appendFailedTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            return;
+        }
+        appendTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        appendPerEventTimer.record(elapsed / events, TimeUnit.NANOSECONDS);
+        appendEvents.record(events);
+    }
+}
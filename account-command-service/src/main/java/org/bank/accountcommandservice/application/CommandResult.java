@@ -0,0 +1,31 @@
+package org.bank.accountcommandservice.application;
+
+import java.util.UUID;
+
+public record CommandResult(
+        int index,
+        UUID accountId,
+        Status status,
+        Integer version,
+        String error
+) {
+    public enum Status {
+        APPLIED, REJECTED, FAILED
+    }
+
+    static CommandResult applied(int index, UUID accountId, int version) {
+        return new CommandResult(index, accountId, Status.APPLIED, version, null);
+    }
+
+    static CommandResult rejected(int index, UUID accountId, String error) {
+        return new CommandResult(index, accountId, Status.REJECTED, null, error);
+    }
+
+    CommandResult withIndex(int index) {
+        return new CommandResult(index, accountId, status, version, error);
+    }
+
+    static CommandResult failed(int index, UUID accountId, String error) {
+        return new CommandResult(index, accountId, Status.FAILED, null, error);
+    }
+}
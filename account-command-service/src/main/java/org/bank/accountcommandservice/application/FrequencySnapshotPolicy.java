@@ -0,0 +1,22 @@
+package org.bank.accountcommandservice.application;
+
+import org.bank.accountcommandservice.domain.model.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.snapshot.policy.type", havingValue = "frequency")
+public class FrequencySnapshotPolicy implements SnapshotPolicy {
+
+    private final int snapshotFrequency;
+
+    public FrequencySnapshotPolicy(@Value("${app.snapshot.frequency}") int snapshotFrequency) {
+        this.snapshotFrequency = snapshotFrequency;
+    }
+
+    @Override
+    public boolean shouldSnapshot(Account account, SnapshotContext context) {
+        return snapshotFrequency > 0 && account.getVersion() % snapshotFrequency == 0;
+    }
+}
@@ -0,0 +1,211 @@
+package org.bank.accountcommandservice.application;
+
+import org.bank.accountcommandservice.domain.command.MoneyCommand;
+import org.bank.accountcommandservice.domain.command.MoneyDepositCommand;
+import org.bank.accountcommandservice.domain.command.MoneyWithdrawCommand;
+import org.bank.accountcommandservice.domain.model.Account;
+import org.bank.accountcommandservice.domain.repository.EventStore;
+import org.bank.accountcommandservice.infrastructure.exception.AccountNotFoundException;
+import org.bank.accountcommandservice.infrastructure.exception.EventVersionConflictException;
+import org.bank.accountcommandservice.infrastructure.exception.PartitionNotOwnedException;
+import org.bank.accountcommandservice.infrastructure.routing.AccountPartitioner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Component
+@ConditionalOnProperty(name = "app.command.partition-affinity.enabled", havingValue = "true")
+public class PartitionCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionCommandExecutor.class);
+
+    private final AccountApplicationService accountApplicationService;
+    private final AccountCache accountCache;
+    private final EventStore eventStore;
+    private final AccountPartitioner partitioner;
+    private final CommandMetrics commandMetrics;
+    private final Duration drainTimeout;
+    private final int maxAccountsPerPartition;
+    private final Map<Integer, PartitionWorker> workers = new ConcurrentHashMap<>();
+
+    public PartitionCommandExecutor(AccountApplicationService accountApplicationService,
+                                    AccountCache accountCache,
+                                    EventStore eventStore,
+                                    AccountPartitioner partitioner,
+                                    CommandMetrics commandMetrics,
+                                    @Value("${app.command.partition-affinity.drain-timeout:10s}") Duration drainTimeout,
+                                    @Value("${app.account-cache.max-size:10000}") int maxAccounts) {
+        this.accountApplicationService = accountApplicationService;
+        this.accountCache = accountCache;
+        this.eventStore = eventStore;
+        this.partitioner = partitioner;
+        this.commandMetrics = commandMetrics;
+        this.drainTimeout = drainTimeout;
+        this.maxAccountsPerPartition = Math.max(1, Math.ceilDiv(maxAccounts, partitioner.numPartitions()));
+    }
+
+    public boolean owns(int partition) {
+        return workers.containsKey(partition);
+    }
+
+    public CompletableFuture<Integer> execute(int partition, MoneyCommand command) {
+        return submit(partition, worker -> worker.apply(command));
+    }
+
+    public CompletableFuture<List<CommandResult>> executeBatch(int partition, UUID accountId, List<MoneyCommand> commands) {
+        return submit(partition, worker -> worker.applyBatch(accountId, commands));
+    }
+
+    private <T> CompletableFuture<T> submit(int partition, Function<PartitionWorker, T> task) {
+        var worker = workers.get(partition);
+        if (worker == null) {
+            return CompletableFuture.failedFuture(new PartitionNotOwnedException("Partition " + partition + " is not owned by this instance"));
+        }
+
+        var future = new CompletableFuture<T>();
+        worker.pending.add(future);
+        future.whenComplete((result, error) -> worker.pending.remove(future));
+        try {
+            worker.executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(task.apply(worker));
+                }
+                catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            future.completeExceptionally(new PartitionNotOwnedException("Partition " + partition + " is being released by this instance"));
+        }
+        return future;
+    }
+
+    public void assign(Collection<Integer> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        // Another instance may have written these accounts since this one last owned them.
+        var assigned = new HashSet<>(partitions);
+        accountCache.invalidateIf(accountId -> assigned.contains(partitioner.partitionFor(accountId)));
+        eventStore.forgetAccounts(accountId -> assigned.contains(partitioner.partitionFor(accountId)));
+        for (var partition : partitions) {
+            workers.computeIfAbsent(partition, PartitionWorker::new);
+        }
+        log.info("Took ownership of partitions {}", partitions);
+    }
+
+    public void release(Collection<Integer> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        for (var partition : partitions) {
+            var worker = workers.remove(partition);
+            if (worker == null) {
+                continue;
+            }
+            worker.executor.shutdown();
+            var drained = false;
+            try {
+                drained = worker.executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!drained) {
+                log.warn("Partition {} still had {} commands pending after {}, failing them", partition, worker.pending.size(), drainTimeout);
+                worker.executor.shutdownNow();
+                var error = new PartitionNotOwnedException("Partition " + partition + " was released before the command completed");
+                List.copyOf(worker.pending).forEach(future -> future.completeExceptionally(error));
+            }
+        }
+        log.info("Released ownership of partitions {}", partitions);
+    }
+
+    private final class PartitionWorker {
+        private final ExecutorService executor;
+        private final Map<UUID, AccountApplicationService.LoadedAccount> accounts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, AccountApplicationService.LoadedAccount> eldest) {
+                return size() > maxAccountsPerPartition;
+            }
+        };
+        private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+        private PartitionWorker(int partition) {
+            this.executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("partition-writer-" + partition).factory());
+        }
+
+        private int apply(MoneyCommand command) {
+            var name = command instanceof MoneyDepositCommand ? "deposit" : "withdraw";
+            return commandMetrics.observe(name, () -> {
+                try {
+                    return applyOnce(command);
+                }
+                catch (EventVersionConflictException e) {
+                    return applyOnce(command);
+                }
+            });
+        }
+
+        private int applyOnce(MoneyCommand command) {
+            var accountId = command.accountId();
+            var loaded = load(accountId).orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+
+            var account = loaded.account();
+            switch (command) {
+                case MoneyDepositCommand deposit -> account.deposit(deposit);
+                case MoneyWithdrawCommand withdraw -> account.withdraw(withdraw);
+            }
+            commit(account, loaded.snapshotContext());
+            return account.getVersion();
+        }
+
+        private List<CommandResult> applyBatch(UUID accountId, List<MoneyCommand> commands) {
+            var loaded = load(accountId);
+            if (loaded.isEmpty()) {
+                return AccountApplicationService.rejectAll(accountId, commands, "Account not found: " + accountId);
+            }
+            return AccountApplicationService.applyCommands(loaded.get().account(), commands,
+                    account -> commit(account, loaded.get().snapshotContext()));
+        }
+
+        private Optional<AccountApplicationService.LoadedAccount> load(UUID accountId) {
+            var loaded = accounts.get(accountId);
+            return loaded != null ? Optional.of(loaded) : accountApplicationService.getAccount(accountId);
+        }
+
+        private void commit(Account account, SnapshotContext snapshotContext) {
+            try {
+                var committedContext = accountApplicationService.commitChanges(account, snapshotContext);
+                accounts.put(account.getAccountId(), new AccountApplicationService.LoadedAccount(account, committedContext));
+            }
+            catch (RuntimeException e) {
+                accounts.remove(account.getAccountId());
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.bank.accountcommandservice.application;
+
+import org.bank.accountcommandservice.domain.model.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(name = "app.snapshot.policy.type", havingValue = "replay-cost", matchIfMissing = true)
+public class ReplayCostSnapshotPolicy implements SnapshotPolicy {
+
+    private final int maxEvents;
+    private final long maxRecordsScanned;
+    private final long maxBytesScanned;
+    private final Duration maxReplayTime;
+    private final Duration maxAge;
+
+    public ReplayCostSnapshotPolicy(@Value("${app.snapshot.policy.max-events:100}") int maxEvents,
+                                    @Value("${app.snapshot.policy.max-records-scanned:10000}") long maxRecordsScanned,
+                                    @Value("${app.snapshot.policy.max-bytes-scanned:1048576}") long maxBytesScanned,
+                                    @Value("${app.snapshot.policy.max-replay-time:50ms}") Duration maxReplayTime,
+                                    @Value("${app.snapshot.policy.max-age:0s}") Duration maxAge) {
+        this.maxEvents = maxEvents;
+        this.maxRecordsScanned = maxRecordsScanned;
+        this.maxBytesScanned = maxBytesScanned;
+        this.maxReplayTime = maxReplayTime;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public boolean shouldSnapshot(Account account, SnapshotContext context) {
+        int pendingEvents = context.eventsSinceSnapshot(account);
+        if (pendingEvents <= 0) {
+            return false;
+        }
+        if (maxEvents > 0 && pendingEvents >= maxEvents) {
+            return true;
+        }
+
+        var replay = context.lastReplay();
+        if (replay.recordsScanned() >= maxRecordsScanned
+                || replay.bytesScanned() >= maxBytesScanned
+                || replay.elapsed().compareTo(maxReplayTime) >= 0) {
+            return true;
+        }
+
+        return !maxAge.isZero() && Duration.between(context.snapshotCreatedAt(), Instant.now()).compareTo(maxAge) >= 0;
+    }
+}
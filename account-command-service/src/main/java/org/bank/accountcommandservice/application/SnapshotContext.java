@@ -0,0 +1,24 @@
+package org.bank.accountcommandservice.application;
+
+import org.bank.accountcommandservice.domain.model.Account;
+import org.bank.accountcommandservice.domain.model.ReplayStats;
+
+import java.time.Instant;
+
+public record SnapshotContext(
+        int snapshotVersion,
+        Instant snapshotCreatedAt,
+        ReplayStats lastReplay
+) {
+    public static SnapshotContext snapshotAt(int version, Instant createdAt) {
+        return new SnapshotContext(version, createdAt, ReplayStats.NONE);
+    }
+
+    public static SnapshotContext replayedFrom(int snapshotVersion, Instant snapshotCreatedAt, ReplayStats replayStats) {
+        return new SnapshotContext(snapshotVersion, snapshotCreatedAt, replayStats);
+    }
+
+    public int eventsSinceSnapshot(Account account) {
+        return account.getVersion() - snapshotVersion;
+    }
+}
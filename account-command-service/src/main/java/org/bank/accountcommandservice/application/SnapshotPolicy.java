@@ -0,0 +1,7 @@
+package org.bank.accountcommandservice.application;
+
+import org.bank.accountcommandservice.domain.model.Account;
+
+public interface SnapshotPolicy {
+    boolean shouldSnapshot(Account account, SnapshotContext context);
+}
@@ -0,0 +1,154 @@
+package org.bank.accountcommandservice.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bank.accountcommandservice.domain.model.AccountSnapshot;
+import org.bank.accountcommandservice.domain.repository.SnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class SnapshotWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotWriter.class);
+
+    private final SnapshotStore snapshotStore;
+    private final int batchSize;
+    private final Map<UUID, AccountSnapshot> pendingSnapshots = new ConcurrentHashMap<>();
+    private final BlockingQueue<UUID> queue;
+
+    private final Counter submittedCounter;
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Timer writeTimer;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public SnapshotWriter(SnapshotStore snapshotStore,
+                          @Value("${app.snapshot.writer.queue-capacity:10000}") int queueCapacity,
+                          @Value("${app.snapshot.writer.batch-size:200}") int batchSize,
+                          MeterRegistry meterRegistry) {
+        this.snapshotStore = snapshotStore;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.submittedCounter = meterRegistry.counter("snapshot.writer.submitted");
+        this.coalescedCounter = meterRegistry.counter("snapshot.writer.coalesced");
+        this.droppedCounter = meterRegistry.counter("snapshot.writer.dropped");
+        this.writtenCounter = meterRegistry.counter("snapshot.writer.written");
+        this.failedCounter = meterRegistry.counter("snapshot.writer.failed");
+        this.writeTimer = Timer.builder("snapshot.writer.write")
+                .description("Time to write one batch of account snapshots")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("snapshot.writer.queue.size", queue, BlockingQueue::size)
+                .description("Accounts waiting for a snapshot write")
+                .register(meterRegistry);
+        Gauge.builder("snapshot.writer.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots in the snapshot writer queue")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofVirtual().name("snapshot-writer").start(this::runWriter);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            writerThread.join(Duration.ofSeconds(5));
+        }
+        flush();
+    }
+
+    public void submit(AccountSnapshot snapshot) {
+        submittedCounter.increment();
+
+        var added = new boolean[1];
+        pendingSnapshots.compute(snapshot.accountId(), (accountId, pending) -> {
+            if (pending == null) {
+                added[0] = true;
+                return snapshot;
+            }
+            coalescedCounter.increment();
+            return snapshot.version() > pending.version() ? snapshot : pending;
+        });
+
+        if (added[0] && !queue.offer(snapshot.accountId())) {
+            pendingSnapshots.remove(snapshot.accountId());
+            droppedCounter.increment();
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                var accountId = queue.poll(1, TimeUnit.SECONDS);
+                if (accountId == null) {
+                    continue;
+                }
+                List<UUID> accountIds = new ArrayList<>(batchSize);
+                accountIds.add(accountId);
+                queue.drainTo(accountIds, batchSize - 1);
+                write(accountIds);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush() {
+        List<UUID> accountIds = new ArrayList<>();
+        queue.drainTo(accountIds);
+        for (int from = 0; from < accountIds.size(); from += batchSize) {
+            write(accountIds.subList(from, Math.min(accountIds.size(), from + batchSize)));
+        }
+    }
+
+    private void write(List<UUID> accountIds) {
+        List<AccountSnapshot> snapshots = new ArrayList<>(accountIds.size());
+        for (var accountId : accountIds) {
+            var snapshot = pendingSnapshots.remove(accountId);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        try {
+            writeTimer.record(() -> snapshotStore.saveSnapshots(snapshots));
+            writtenCounter.increment(snapshots.size());
+        }
+        catch (Exception e) {
+            failedCounter.increment(snapshots.size());
+            log.error("Failed to write {} account snapshots: {}", snapshots.size(), e.getMessage());
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package org.bank.accountcommandservice.controller;
 
 import org.bank.accountcommandservice.application.AccountApplicationService;
+import org.bank.accountcommandservice.application.CommandResult;
+import org.bank.accountcommandservice.controller.dto.BatchCommandRequest;
 import org.bank.accountcommandservice.domain.command.AccountCreateCommand;
 import org.bank.accountcommandservice.domain.command.MoneyDepositCommand;
 import org.bank.accountcommandservice.domain.command.MoneyWithdrawCommand;
+import org.bank.accountcommandservice.infrastructure.routing.CommandDispatcher;
+import org.bank.accountcommandservice.infrastructure.routing.PartitionCommandRouter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/account")
 public class CommandHandlerController {
     private final AccountApplicationService accountApplicationService;
+    private final CommandDispatcher commandDispatcher;
 
     @Autowired
-    public CommandHandlerController(AccountApplicationService accountApplicationService) {
+    public CommandHandlerController(AccountApplicationService accountApplicationService, CommandDispatcher commandDispatcher) {
         this.accountApplicationService = accountApplicationService;
+        this.commandDispatcher = commandDispatcher;
     }
 
     @PostMapping("/create")
@@ -24,12 +34,20 @@ public class CommandHandlerController {
     }
 
     @PostMapping("/deposit")
-    public void deposit(@RequestBody MoneyDepositCommand command) {
-        accountApplicationService.accountDeposit(command);
+    public CompletableFuture<ResponseEntity<String>> deposit(@RequestBody MoneyDepositCommand command,
+                                                             @RequestHeader(value = PartitionCommandRouter.FORWARDED_HEADER, defaultValue = "false") boolean forwarded) {
+        return commandDispatcher.dispatch(command, "/account/deposit", forwarded);
     }
 
     @PostMapping("/withdraw")
-    public void withdraw(@RequestBody MoneyWithdrawCommand command) {
-        accountApplicationService.accountWithdraw(command);
+    public CompletableFuture<ResponseEntity<String>> withdraw(@RequestBody MoneyWithdrawCommand command,
+                                                              @RequestHeader(value = PartitionCommandRouter.FORWARDED_HEADER, defaultValue = "false") boolean forwarded) {
+        return commandDispatcher.dispatch(command, "/account/withdraw", forwarded);
+    }
+
+    @PostMapping("/batch")
+    public List<CommandResult> batch(@RequestBody List<BatchCommandRequest> commands,
+                                     @RequestHeader(value = PartitionCommandRouter.FORWARDED_HEADER, defaultValue = "false") boolean forwarded) {
+        return commandDispatcher.dispatchBatch(commands.stream().map(BatchCommandRequest::toCommand).toList(), "/account/batch", forwarded);
     }
 }
@@ -0,0 +1,27 @@
+package org.bank.accountcommandservice.controller;
+
+import org.bank.accountcommandservice.infrastructure.projector.ReadModelRebuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/read-model")
+public class ReadModelAdminController {
+    private final ReadModelRebuilder readModelRebuilder;
+
+    public ReadModelAdminController(ReadModelRebuilder readModelRebuilder) {
+        this.readModelRebuilder = readModelRebuilder;
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ReadModelRebuilder.RebuildStatus> rebuild() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(readModelRebuilder.start());
+    }
+
+    @GetMapping("/rebuild")
+    public ResponseEntity<ReadModelRebuilder.RebuildStatus> rebuildStatus() {
+        var status = readModelRebuilder.status();
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+}
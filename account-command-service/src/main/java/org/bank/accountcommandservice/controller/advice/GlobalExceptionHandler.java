@@ -49,6 +49,20 @@ public class GlobalExceptionHandler {
         return eventPersistenceException.getMessage();
     }
 
+    @ResponseBody
+    @ExceptionHandler(EventVersionConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    String eventVersionConflictException(EventVersionConflictException eventVersionConflictException) {
+        return eventVersionConflictException.getMessage();
+    }
+
+    @ResponseBody
+    @ExceptionHandler(ReadModelRebuildInProgressException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    String readModelRebuildInProgressException(ReadModelRebuildInProgressException readModelRebuildInProgressException) {
+        return readModelRebuildInProgressException.getMessage();
+    }
+
     @ResponseBody
     @ExceptionHandler(EventReplayException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -97,4 +111,25 @@ public class GlobalExceptionHandler {
     String accountNotFoundException(AccountNotFoundException accountNotFoundException) {
         return accountNotFoundException.getMessage();
     }
+
+    @ResponseBody
+    @ExceptionHandler(PartitionNotOwnedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    String partitionNotOwnedException(PartitionNotOwnedException partitionNotOwnedException) {
+        return partitionNotOwnedException.getMessage();
+    }
+
+    @ResponseBody
+    @ExceptionHandler(PartitionBusyException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    String partitionBusyException(PartitionBusyException partitionBusyException) {
+        return partitionBusyException.getMessage();
+    }
+
+    @ResponseBody
+    @ExceptionHandler(CommandCapacityExceededException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    String commandCapacityExceededException(CommandCapacityExceededException commandCapacityExceededException) {
+        return commandCapacityExceededException.getMessage();
+    }
 }
@@ -0,0 +1,29 @@
+package org.bank.accountcommandservice.controller.dto;
+
+import org.bank.accountcommandservice.domain.command.MoneyCommand;
+import org.bank.accountcommandservice.domain.command.MoneyDepositCommand;
+import org.bank.accountcommandservice.domain.command.MoneyWithdrawCommand;
+import org.bank.accountcommandservice.domain.exception.CommandNotFound;
+import org.bank.accountcommandservice.domain.model.Money;
+
+import java.util.UUID;
+
+public record BatchCommandRequest(
+        Type type,
+        UUID accountId,
+        Money money
+) {
+    public enum Type {
+        DEPOSIT, WITHDRAW
+    }
+
+    public MoneyCommand toCommand() {
+        if (type == null) {
+            throw new CommandNotFound("command type cannot be null");
+        }
+        return switch (type) {
+            case DEPOSIT -> new MoneyDepositCommand(accountId, money);
+            case WITHDRAW -> new MoneyWithdrawCommand(accountId, money);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package org.bank.accountcommandservice.domain.command;
+
+import org.bank.accountcommandservice.domain.model.Money;
+
+import java.util.UUID;
+
+public sealed interface MoneyCommand permits MoneyDepositCommand, MoneyWithdrawCommand {
+
+    UUID accountId();
+
+    Money money();
+}
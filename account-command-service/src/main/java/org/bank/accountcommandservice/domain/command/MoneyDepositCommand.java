@@ -7,5 +7,5 @@ import java.util.UUID;
 public record MoneyDepositCommand(
         UUID accountId,
         Money money
-) {
+) implements MoneyCommand {
 }
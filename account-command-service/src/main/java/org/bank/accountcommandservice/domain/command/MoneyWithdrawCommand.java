@@ -7,5 +7,5 @@ import java.util.UUID;
 public record MoneyWithdrawCommand(
         UUID accountId,
         Money money
-) {
+) implements MoneyCommand {
 }
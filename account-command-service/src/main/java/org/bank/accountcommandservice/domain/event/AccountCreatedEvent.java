@@ -6,5 +6,5 @@ public record AccountCreatedEvent(
         BaseEvent baseEvent,
         String accountHolderName,
         Money initMoney
-) {
+) implements DomainEvent {
 }
@@ -0,0 +1,6 @@
+package org.bank.accountcommandservice.domain.event;
+
+public sealed interface DomainEvent permits AccountCreatedEvent, MoneyDepositedEvent, MoneyWithdrawnEvent {
+
+    BaseEvent baseEvent();
+}
@@ -5,5 +5,5 @@ import org.bank.accountcommandservice.domain.model.Money;
 public record MoneyDepositedEvent(
         BaseEvent baseEvent,
         Money amountDeposited
-) {
+) implements DomainEvent {
 }
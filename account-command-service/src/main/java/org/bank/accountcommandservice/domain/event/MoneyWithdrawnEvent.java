@@ -5,5 +5,5 @@ import org.bank.accountcommandservice.domain.model.Money;
 public record MoneyWithdrawnEvent(
         BaseEvent baseEvent,
         Money amountWithdrawn
-) {
+) implements DomainEvent {
 }
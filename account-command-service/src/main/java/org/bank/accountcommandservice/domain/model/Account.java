@@ -5,13 +5,12 @@ import org.bank.accountcommandservice.domain.command.MoneyDepositCommand;
 import org.bank.accountcommandservice.domain.command.MoneyWithdrawCommand;
 import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
 import org.bank.accountcommandservice.domain.event.BaseEvent;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
 import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
 import org.bank.accountcommandservice.domain.event.MoneyWithdrawnEvent;
 import org.bank.accountcommandservice.domain.exception.CommandNotFound;
 import org.bank.accountcommandservice.domain.exception.InvalidAccountOperationException;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -21,7 +20,7 @@ public class Account {
     private String accountName;
     private Money balance;
     private int version;
-    private final List<Object> uncommittedChanges = new ArrayList<>();
+    private final List<DomainEvent> uncommittedChanges = new ArrayList<>();
 
     private Account(){
 
@@ -46,7 +45,7 @@ public class Account {
         AccountCreatedEvent event = new AccountCreatedEvent(
                 BaseEvent.newBaseEvent(accountUuid, 0),
                 command.accountHolderName(),
-                new Money(new BigDecimal(BigInteger.ZERO))
+                Money.ofUnits(0)
         );
 
         apply(event);
@@ -87,23 +86,15 @@ public class Account {
         uncommittedChanges.add(event);
     }
 
-    public static Account build(List<Object> history) {
+    public static Account build(List<DomainEvent> history) {
         var account = new Account();
         account.replayEvents(history);
         return account;
     }
 
-    public void replayEvents(List<Object> history) {
-        for (Object event : history) {
-            if (event instanceof AccountCreatedEvent e) {
-                apply(e);
-            }
-            if (event instanceof MoneyDepositedEvent e) {
-                apply(e);
-            }
-            if (event instanceof MoneyWithdrawnEvent e) {
-                apply(e);
-            }
+    public void replayEvents(List<DomainEvent> history) {
+        for (DomainEvent event : history) {
+            apply(event);
         }
     }
 
@@ -111,6 +102,10 @@ public class Account {
         return new Account(snapshot.accountId(), snapshot.accountName(), snapshot.money(), snapshot.version());
     }
 
+    public void apply(DomainEvent event) {
+        EventAppliers.apply(this, event);
+    }
+
     public void apply(AccountCreatedEvent event) {
         this.accountId = event.baseEvent().accountId();
         this.accountName = event.accountHolderName();
@@ -119,12 +114,12 @@ public class Account {
     }
 
     public void apply(MoneyDepositedEvent event) {
-        this.balance = this.balance.deposit(event.amountDeposited().amount());
+        this.balance = this.balance.deposit(event.amountDeposited());
         this.version = event.baseEvent().aggregateVersion() + 1;
     }
 
     public void apply(MoneyWithdrawnEvent event) {
-        this.balance = this.balance.withdraw(event.amountWithdrawn().amount());
+        this.balance = this.balance.withdraw(event.amountWithdrawn());
         this.version = event.baseEvent().aggregateVersion() + 1;
     }
 
@@ -144,7 +139,11 @@ public class Account {
         return version;
     }
 
-    public List<Object> getUncommittedChanges() {
+    public int getCommittedVersion() {
+        return version - uncommittedChanges.size();
+    }
+
+    public List<DomainEvent> getUncommittedChanges() {
         return List.copyOf(uncommittedChanges);
     }
 
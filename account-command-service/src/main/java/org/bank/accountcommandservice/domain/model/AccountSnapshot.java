@@ -1,5 +1,6 @@
 package org.bank.accountcommandservice.domain.model;
 
+import java.time.Instant;
 import java.util.UUID;
 
 public record AccountSnapshot(
@@ -7,6 +8,7 @@ public record AccountSnapshot(
         String accountName,
         Money money,
         int version,
-        long offset
+        long offset,
+        Instant createdAt
 ) {
 }
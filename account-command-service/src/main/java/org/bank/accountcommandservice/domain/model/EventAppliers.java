@@ -0,0 +1,37 @@
+package org.bank.accountcommandservice.domain.model;
+
+import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
+import org.bank.accountcommandservice.domain.event.MoneyWithdrawnEvent;
+import org.bank.accountcommandservice.domain.exception.InvalidAccountOperationException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+final class EventAppliers {
+
+    private static final Map<Class<? extends DomainEvent>, BiConsumer<Account, DomainEvent>> APPLIERS = new HashMap<>();
+
+    static {
+        register(AccountCreatedEvent.class, Account::apply);
+        register(MoneyDepositedEvent.class, Account::apply);
+        register(MoneyWithdrawnEvent.class, Account::apply);
+    }
+
+    private EventAppliers() {
+    }
+
+    static void apply(Account account, DomainEvent event) {
+        var applier = APPLIERS.get(event.getClass());
+        if (applier == null) {
+            throw new InvalidAccountOperationException("No applier registered for event type: " + event.getClass().getName());
+        }
+        applier.accept(account, event);
+    }
+
+    private static <E extends DomainEvent> void register(Class<E> eventType, BiConsumer<Account, E> applier) {
+        APPLIERS.put(eventType, (account, event) -> applier.accept(account, eventType.cast(event)));
+    }
+}
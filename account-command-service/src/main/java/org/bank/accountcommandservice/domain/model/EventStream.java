@@ -1,13 +1,21 @@
 package org.bank.accountcommandservice.domain.model;
 
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+
 import java.util.List;
 
 public record EventStream(
-        List<Object> events,
+        List<DomainEvent> events,
         int lastReadPartition,
         long lastReadOffset,
-        int version
+        int version,
+        long caughtUpOffset,
+        ReplayStats replayStats
 ) {
+    public EventStream(List<DomainEvent> events, int lastReadPartition, long lastReadOffset, int version) {
+        this(events, lastReadPartition, lastReadOffset, version, lastReadOffset + 1, ReplayStats.NONE);
+    }
+
     public boolean isEmpty() {
         return events == null || events.isEmpty();
     }
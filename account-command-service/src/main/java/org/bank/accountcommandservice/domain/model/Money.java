@@ -1,48 +1,133 @@
 package org.bank.accountcommandservice.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.bank.accountcommandservice.domain.exception.NegativeAmountException;
 import org.bank.accountcommandservice.domain.exception.NotEnoughMoneyException;
 
 import java.math.BigDecimal;
 
-public record Money(
-        BigDecimal amount
-) {
+public final class Money {
 
-    public Money(BigDecimal amount) {
+    public static final int SCALE = 2;
+
+    private final long units;
+    private final BigDecimal exactAmount;
+
+    @JsonCreator
+    public Money(@JsonProperty("amount") BigDecimal amount) {
         if (amount == null) {
             throw new NullPointerException("Amount cannot be null");
         }
-        if (amount.floatValue() < 0){
+        if (amount.signum() < 0) {
+            throw new NegativeAmountException("Amount must be positive");
+        }
+
+        var units = toUnits(amount);
+        this.units = units == null ? 0L : units;
+        this.exactAmount = units == null ? amount : null;
+    }
+
+    private Money(long units) {
+        this.units = units;
+        this.exactAmount = null;
+    }
+
+    public static Money ofUnits(long units) {
+        if (units < 0) {
             throw new NegativeAmountException("Amount must be positive");
         }
-        this.amount = amount;
+        return new Money(units);
     }
 
+    public BigDecimal amount() {
+        return exactAmount != null ? exactAmount : BigDecimal.valueOf(units, SCALE);
+    }
+
+    @JsonProperty("amount")
     public BigDecimal getAmount() {
-        return amount;
+        return amount();
     }
 
     public Money deposit(BigDecimal amount) {
         if (amount == null) {
             throw new NullPointerException("Amount cannot be null");
         }
-        if (amount.compareTo(BigDecimal.ZERO) < 0){
-            throw new NegativeAmountException("Amount must be positive");
+        return deposit(new Money(amount));
+    }
+
+    public Money deposit(Money other) {
+        if (exactAmount == null && other.exactAmount == null) {
+            var sum = units + other.units;
+            if (sum >= 0) {
+                return new Money(sum);
+            }
         }
-        return new Money(this.amount.add(amount));
+        return new Money(amount().add(other.amount()));
     }
 
     public Money withdraw(BigDecimal amount) {
         if (amount == null) {
             throw new NullPointerException("Amount cannot be null");
         }
-        if (amount.compareTo(BigDecimal.ZERO) < 0){
-            throw new NegativeAmountException("Amount must be positive");
+        return withdraw(new Money(amount));
+    }
+
+    public Money withdraw(Money other) {
+        if (exactAmount == null && other.exactAmount == null) {
+            if (units < other.units) {
+                throw new NotEnoughMoneyException(amount().toPlainString(), other.amount().toString());
+            }
+            return new Money(units - other.units);
+        }
+
+        var current = amount();
+        var withdrawn = other.amount();
+        if (current.compareTo(withdrawn) < 0) {
+            throw new NotEnoughMoneyException(current.toPlainString(), withdrawn.toString());
+        }
+        return new Money(current.subtract(withdrawn));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money other)) {
+            return false;
+        }
+        if (exactAmount == null && other.exactAmount == null) {
+            return units == other.units;
+        }
+        return exactAmount != null && other.exactAmount != null && exactAmount.compareTo(other.exactAmount) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return exactAmount == null ? Long.hashCode(units) : exactAmount.stripTrailingZeros().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Money[amount=" + amount().toPlainString() + "]";
+    }
+
+    private static Long toUnits(BigDecimal amount) {
+        if (amount.scale() > SCALE) {
+            amount = amount.stripTrailingZeros();
+            if (amount.scale() > SCALE) {
+                return null;
+            }
+        }
+        if (amount.precision() - amount.scale() > 17) {
+            return null;
+        }
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
         }
-        if (this.amount.compareTo(amount) < 0) {
-            throw new NotEnoughMoneyException(this.amount.toPlainString(), amount.toString());
+        catch (ArithmeticException e) {
+            return null;
         }
-        return new Money(this.amount.subtract(amount));
     }
 }
@@ -0,0 +1,13 @@
+package org.bank.accountcommandservice.domain.model;
+
+import java.time.Duration;
+
+public record ReplayStats(
+        long recordsScanned,
+        long recordsMatched,
+        long bytesScanned,
+        int pollCount,
+        Duration elapsed
+) {
+    public static final ReplayStats NONE = new ReplayStats(0, 0, 0, 0, Duration.ZERO);
+}
@@ -1,14 +1,24 @@
 package org.bank.accountcommandservice.domain.repository;
 
-
+import org.bank.accountcommandservice.domain.event.DomainEvent;
 import org.bank.accountcommandservice.domain.model.EventStream;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 public interface EventStore {
-    long saveEvents(UUID accountId, List<Object> events);
+    long saveEvents(UUID accountId, int expectedVersion, List<DomainEvent> events);
+    CompletableFuture<Long> saveEventsAsync(UUID accountId, int expectedVersion, List<DomainEvent> events);
     EventStream loadEventStream(UUID aggregateId);
     EventStream loadEventStreamAfter(UUID aggregateId, long offset, int version);
     EventStream loadEventStreamUpToVersion(UUID aggregateId, int targetVersionExclusive);
+
+    default void forgetAccounts(Predicate<UUID> accountIds) {
+    }
+
+    default boolean enforcesExpectedVersion() {
+        return false;
+    }
 }
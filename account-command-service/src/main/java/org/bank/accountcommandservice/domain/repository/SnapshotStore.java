@@ -2,10 +2,11 @@ package org.bank.accountcommandservice.domain.repository;
 
 import org.bank.accountcommandservice.domain.model.AccountSnapshot;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface SnapshotStore {
-    void saveSnapshot(AccountSnapshot snapshot);
+    void saveSnapshots(List<AccountSnapshot> snapshots);
     Optional<AccountSnapshot> getLastSnapshot(UUID accountId);
 }
@@ -3,7 +3,10 @@ package org.bank.accountcommandservice.infrastructure.config;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
@@ -37,16 +40,45 @@ public class KafkaConfig {
                 .build();
     }
 
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer transactionalProducerFactoryCustomizer(
+            @Value("${app.kafka.producer.transaction-id-prefix:}") String transactionIdPrefix) {
+        return producerFactory -> {
+            if (!transactionIdPrefix.isBlank()) {
+                producerFactory.setTransactionIdPrefix(transactionIdPrefix);
+            }
+        };
+    }
+
     @Bean
     @Scope("prototype")
-    public KafkaConsumer<String, Object> replayKafkaConsumer() {
+    public KafkaConsumer<String, byte[]> replayKafkaConsumer() {
         Map<String, Object> props = new HashMap<>(defaultConsumerFactory.getConfigurationProperties());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "replay-group-" + UUID.randomUUID().toString());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
 
         return new KafkaConsumer<>(props);
     }
 
+    @Bean
+    public AccountEventDeserializer replayEventDeserializer() {
+        var deserializer = new AccountEventDeserializer();
+        deserializer.configure(defaultConsumerFactory.getConfigurationProperties(), false);
+        return deserializer;
+    }
+
+    @Bean
+    @Scope("prototype")
+    public KafkaConsumer<String, byte[]> offsetIndexKafkaConsumer() {
+        Map<String, Object> props = new HashMap<>(defaultConsumerFactory.getConfigurationProperties());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "offset-index-group-" + UUID.randomUUID().toString());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        return new KafkaConsumer<>(props);
+    }
 
 }
@@ -0,0 +1,224 @@
+package org.bank.accountcommandservice.infrastructure.eventStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Profile("!file-store & !jdbc-store")
+public class AccountOffsetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountOffsetIndex.class);
+
+    private static final long[] NO_OFFSETS = new long[0];
+
+    private final String topicName;
+    private final int numPartitions;
+    private final boolean enabled;
+    private final ObjectFactory<KafkaConsumer<String, byte[]>> indexConsumerFactory;
+
+    private final Map<UUID, AccountOffsets> offsetsByAccount;
+    private final AtomicLongArray indexedUpTo;
+    private final AtomicLongArray coveredFrom;
+    private final long[] nextOffset;
+
+    private volatile boolean running;
+    private volatile KafkaConsumer<String, byte[]> consumer;
+    private Thread indexerThread;
+
+    public AccountOffsetIndex(
+            @Value("${app.kafka.topic-name}") String topicName,
+            @Value("${app.kafka.topic-partitions}") int numPartitions,
+            @Value("${app.kafka.offset-index.enabled:true}") boolean enabled,
+            @Value("${app.kafka.offset-index.max-accounts:100000}") int maxAccounts,
+            @Qualifier("offsetIndexKafkaConsumer") ObjectFactory<KafkaConsumer<String, byte[]>> indexConsumerFactory
+    ) {
+        this.topicName = topicName;
+        this.numPartitions = numPartitions;
+        this.enabled = enabled;
+        this.indexConsumerFactory = indexConsumerFactory;
+        this.indexedUpTo = new AtomicLongArray(numPartitions);
+        this.coveredFrom = new AtomicLongArray(numPartitions);
+        this.nextOffset = new long[numPartitions];
+        this.offsetsByAccount = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, AccountOffsets> eldest) {
+                if (size() <= maxAccounts) {
+                    return false;
+                }
+                // Raised before the entry goes, so a reader that misses the entry cannot trust the older range.
+                var partition = eldest.getValue().partition;
+                coveredFrom.accumulateAndGet(partition, nextOffset[partition], Math::max);
+                return true;
+            }
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        indexerThread = Thread.ofVirtual().name("account-offset-indexer").start(this::runIndexer);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        var current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (indexerThread != null) {
+            indexerThread.join(Duration.ofSeconds(5));
+        }
+    }
+
+    public long indexedUpTo(int partition) {
+        return indexedUpTo.get(partition);
+    }
+
+    public long[] offsetsBetween(UUID accountId, int partition, long fromInclusive, long toExclusive) {
+        var offsets = offsetsByAccount.get(accountId);
+        var indexedFrom = offsets == null ? coveredFrom.get(partition) : offsets.indexedFrom;
+        if (fromInclusive < indexedFrom) {
+            return null;
+        }
+        return offsets == null ? NO_OFFSETS : offsets.between(fromInclusive, toExclusive);
+    }
+
+    private void runIndexer() {
+        while (running) {
+            try (var indexConsumer = indexConsumerFactory.getObject()) {
+                consumer = indexConsumer;
+                List<TopicPartition> partitions = new ArrayList<>();
+                for (int partition = 0; partition < numPartitions; partition++) {
+                    partitions.add(new TopicPartition(topicName, partition));
+                }
+                indexConsumer.assign(partitions);
+                for (var partition : partitions) {
+                    nextOffset[partition.partition()] = indexedUpTo.get(partition.partition());
+                    indexConsumer.seek(partition, nextOffset[partition.partition()]);
+                }
+
+                while (running) {
+                    var records = indexConsumer.poll(Duration.ofMillis(500));
+                    for (var record : records) {
+                        var accountId = parseAccountId(record.key());
+                        if (accountId != null) {
+                            var partition = record.partition();
+                            offsetsByAccount.computeIfAbsent(accountId, id -> new AccountOffsets(partition, coveredFrom.get(partition)))
+                                    .add(record.offset());
+                        }
+                        nextOffset[record.partition()] = record.offset() + 1;
+                    }
+                    for (var partition : partitions) {
+                        indexedUpTo.set(partition.partition(), indexConsumer.position(partition));
+                    }
+                }
+            }
+            catch (WakeupException e) {
+                if (running) {
+                    log.warn("Offset indexer for topic {} was woken up unexpectedly, restarting", topicName);
+                }
+            }
+            catch (Exception e) {
+                log.error("Offset indexer for topic {} failed, restarting: {}", topicName, e.getMessage());
+                sleepBeforeRestart();
+            }
+            finally {
+                consumer = null;
+            }
+        }
+    }
+
+    private void sleepBeforeRestart() {
+        try {
+            Thread.sleep(Duration.ofSeconds(1));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private UUID parseAccountId(String key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(key);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class AccountOffsets {
+        private final int partition;
+        private final long indexedFrom;
+        private final Lock lock = new ReentrantLock();
+        private long[] offsets = new long[4];
+        private int size;
+
+        AccountOffsets(int partition, long indexedFrom) {
+            this.partition = partition;
+            this.indexedFrom = indexedFrom;
+        }
+
+        void add(long offset) {
+            lock.lock();
+            try {
+                if (size > 0 && offsets[size - 1] >= offset) {
+                    return;
+                }
+                if (size == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, size * 2);
+                }
+                offsets[size++] = offset;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        long[] between(long fromInclusive, long toExclusive) {
+            lock.lock();
+            try {
+                int from = lowerBound(fromInclusive);
+                int to = lowerBound(toExclusive);
+                return from >= to ? NO_OFFSETS : Arrays.copyOfRange(offsets, from, to);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        private int lowerBound(long offset) {
+            int index = Arrays.binarySearch(offsets, 0, size, offset);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
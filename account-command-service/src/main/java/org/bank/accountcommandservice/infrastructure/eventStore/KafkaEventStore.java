@@ -1,76 +1,218 @@
 package org.bank.accountcommandservice.infrastructure.eventStore;
 
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.kafka.common.utils.Utils;
-import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
-import org.bank.accountcommandservice.domain.event.BaseEvent;
-import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
-import org.bank.accountcommandservice.domain.event.MoneyWithdrawnEvent;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
 import org.bank.accountcommandservice.domain.model.EventStream;
+import org.bank.accountcommandservice.domain.model.ReplayStats;
 import org.bank.accountcommandservice.domain.repository.EventStore;
 import org.bank.accountcommandservice.infrastructure.exception.EventPersistenceException;
 import org.bank.accountcommandservice.infrastructure.exception.EventReplayException;
+import org.bank.accountcommandservice.infrastructure.exception.EventVersionConflictException;
 import org.bank.accountcommandservice.infrastructure.exception.InconsistentEventStreamException;
 import org.bank.accountcommandservice.infrastructure.exception.UnsupportedEventTypeException;
-import org.springframework.beans.factory.ObjectFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventDeserializer;
+import org.bank.accountcommandservice.infrastructure.serialization.EventHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.KafkaOperations;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
 
 @Service
+@Profile("!file-store & !jdbc-store")
 public class KafkaEventStore implements EventStore {
 
+    private static final Logger log = LoggerFactory.getLogger(KafkaEventStore.class);
+
+    private static final int MAX_INDEXED_EMPTY_POLLS = 5;
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+
     private final String topicName;
     private final int numPartitions;
-    private final ObjectFactory<KafkaConsumer<String, Object>> replayConsumerFactory;
+    private final Duration replayTimeout;
+    private final ReplayConsumerPool consumerPool;
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final AccountOffsetIndex offsetIndex;
+    private final AccountEventDeserializer eventDeserializer;
+    private final Map<UUID, Integer> appendedVersions;
+    private final ExecutorService transactionExecutor;
 
     private final StringSerializer keySerializer = new StringSerializer();
 
     public KafkaEventStore(
             @Value("${app.kafka.topic-name}") String topicName,
             @Value("${app.kafka.topic-partitions}") int numPartitions,
-            @Qualifier("replayKafkaConsumer") ObjectFactory<KafkaConsumer<String, Object>> replayConsumerFactory, KafkaTemplate<String, Object> kafkaTemplate
+            @Value("${app.kafka.replay-timeout:30s}") Duration replayTimeout,
+            @Value("${app.kafka.appended-versions.max-size:100000}") int appendedVersionsMaxSize,
+            @Value("${app.kafka.producer.transaction-concurrency:8}") int transactionConcurrency,
+            ReplayConsumerPool consumerPool, KafkaTemplate<String, Object> kafkaTemplate,
+            AccountOffsetIndex offsetIndex, AccountEventDeserializer eventDeserializer
     ) {
         this.topicName = topicName;
         this.numPartitions = numPartitions;
-        this.replayConsumerFactory = replayConsumerFactory;
+        this.replayTimeout = replayTimeout;
+        this.consumerPool = consumerPool;
         this.kafkaTemplate = kafkaTemplate;
+        this.offsetIndex = offsetIndex;
+        this.eventDeserializer = eventDeserializer;
+        this.appendedVersions = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Integer> eldest) {
+                return size() > appendedVersionsMaxSize;
+            }
+        });
+        this.transactionExecutor = Executors.newFixedThreadPool(Math.max(1, transactionConcurrency),
+                Thread.ofVirtual().name("kafka-tx-", 0).factory());
+    }
+
+    @PostConstruct
+    public void warmUpProducer() {
+        try {
+            kafkaTemplate.partitionsFor(topicName);
+        }
+        catch (Exception e) {
+            log.warn("Could not fetch producer metadata for topic {}: {}", topicName, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        transactionExecutor.close();
     }
 
     @Override
-    public long saveEvents(UUID accountId, List<Object> events) {
+    public long saveEvents(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+        try {
+            return saveEventsAsync(accountId, expectedVersion, events).join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof EventPersistenceException persistenceException) {
+                throw persistenceException;
+            }
+            if (e.getCause() instanceof EventVersionConflictException conflictException) {
+                throw conflictException;
+            }
+            throw new EventPersistenceException("Unexpected error while saving event for accountId: " + accountId + ": " +  e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Long> saveEventsAsync(UUID accountId, int expectedVersion, List<DomainEvent> events) {
         if (events == null || events.isEmpty()) {
-            return -1L;
+            return CompletableFuture.completedFuture(-1L);
         }
 
-        long lastOffset = -1L;
+        var nextVersion = expectedVersion + events.size();
+        try {
+            checkEventVersions(accountId, expectedVersion, events);
+            reserveVersion(accountId, expectedVersion, nextVersion);
+        }
+        catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<List<CompletableFuture<SendResult<String, Object>>>> sent;
 
         try {
-            for (Object event : events) {
-                var result = kafkaTemplate.send(topicName, accountId.toString(), event).get();
-                var metadata = result.getRecordMetadata();
-                if (metadata.hasOffset()){
-                    lastOffset = metadata.offset();
-                }
-            }
+            sent = kafkaTemplate.isTransactional()
+                    ? CompletableFuture.supplyAsync(() -> kafkaTemplate.executeInTransaction(operations -> sendAll(operations, accountId, events)), transactionExecutor)
+                    : CompletableFuture.completedFuture(sendAll(kafkaTemplate, accountId, events));
         } catch (Exception e) {
-            throw new EventPersistenceException("Unexpected error while saving event for accountId: " + accountId + ": " +  e.getMessage());
+            appendedVersions.remove(accountId, nextVersion);
+            return CompletableFuture.failedFuture(
+                    new EventPersistenceException("Unexpected error while saving event for accountId: " + accountId + ": " +  e.getMessage()));
         }
 
+        return sent
+                .thenCompose(sends -> CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).thenApply(ignored -> lastOffset(sends)))
+                .handle((lastOffset, error) -> {
+                    if (error != null) {
+                        appendedVersions.remove(accountId, nextVersion);
+                        var cause = error instanceof CompletionException ? error.getCause() : error;
+                        throw new EventPersistenceException("Unexpected error while saving event for accountId: " + accountId + ": " +  cause.getMessage());
+                    }
+                    return lastOffset;
+                });
+    }
+
+    private static long lastOffset(List<CompletableFuture<SendResult<String, Object>>> sends) {
+        long lastOffset = -1L;
+        for (var send : sends) {
+            var metadata = send.join().getRecordMetadata();
+            if (metadata.hasOffset()) {
+                lastOffset = metadata.offset();
+            }
+        }
         return lastOffset;
     }
 
+    @Override
+    public void forgetAccounts(Predicate<UUID> accountIds) {
+        synchronized (appendedVersions) {
+            appendedVersions.keySet().removeIf(accountIds);
+        }
+    }
+
+    private void checkEventVersions(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+        var version = expectedVersion;
+        for (DomainEvent event : events) {
+            var baseEvent = event.baseEvent();
+            if (!accountId.equals(baseEvent.accountId())) {
+                throw new EventPersistenceException("Event " + event.getClass().getSimpleName() + " does not belong to accountId: " + accountId);
+            }
+            if (baseEvent.aggregateVersion() != version) {
+                throw new EventPersistenceException(String.format("Events for accountId %s are not contiguous: expected version %d, got %d",
+                        accountId, version, baseEvent.aggregateVersion()));
+            }
+            version++;
+        }
+    }
+
+    private void reserveVersion(UUID accountId, int expectedVersion, int nextVersion) {
+        appendedVersions.compute(accountId, (id, appendedVersion) -> {
+            if (appendedVersion != null && expectedVersion < appendedVersion) {
+                throw new EventVersionConflictException(String.format("Version conflict for accountId %s: expected version %d, but version %d was already appended",
+                        accountId, expectedVersion, appendedVersion));
+            }
+            return nextVersion;
+        });
+    }
+
+    private List<CompletableFuture<SendResult<String, Object>>> sendAll(KafkaOperations<String, Object> operations, UUID accountId, List<DomainEvent> events) {
+        var key = accountId.toString();
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            var headers = EventHeaders.of(accountId, event.baseEvent().aggregateVersion());
+            sends.add(operations.send(new ProducerRecord<>(topicName, null, key, event, headers)));
+        }
+        return sends;
+    }
+
     @Override
     public EventStream loadEventStream(UUID aggregateId) {
         try {
@@ -93,173 +235,252 @@ public class KafkaEventStore implements EventStore {
     @Override
     public EventStream loadEventStreamUpToVersion(UUID aggregateId, int targetVersionExclusive) {
         int partitionId = getPartitionId(aggregateId);
-        List<Object> events = new ArrayList<>();
-        long lastReadOffset = -1L;
-        int currentVersion = 0;
 
         if (targetVersionExclusive == 0) {
             return new EventStream(Collections.emptyList(), partitionId, -1L, 0);
         }
 
-        try (var consumer = replayConsumerFactory.getObject()) {
+        var stream = new StreamReader(aggregateId, -1L, 0, targetVersionExclusive);
+
+        var lease = consumerPool.borrow(partitionId);
+        try {
+            var consumer = lease.consumer();
             var partition = new TopicPartition(topicName, partitionId);
             consumer.assign(List.of(partition));
-            consumer.seekToBeginning(List.of(partition));
-
-            while (currentVersion < targetVersionExclusive) {
-                var records = consumer.poll(Duration.ofMillis(200));
-                if (records.isEmpty()) {
-                    continue;
-                }
-
-                for (var record : records) {
-                    Object event = record.value();
-                    if (!isEventForAggregate(event, aggregateId)) {
-                        continue;
-                    }
-
-                    var baseEvent = getBaseEventFromRaw(event);
-                    if (baseEvent == null) {
-                        continue;
-                    }
-
-                    var eventVersion = baseEvent.aggregateVersion();
-                    if (eventVersion >= targetVersionExclusive) {
-                        return new EventStream(events, partitionId, lastReadOffset, currentVersion);
-                    }
-
-                    if (eventVersion != currentVersion) {
-                        throw new InconsistentEventStreamException(
-                                String.format("Inconsistent event stream for aggregateId %s: expected version %d, got %d at offset %d.",
-                                        aggregateId, currentVersion, eventVersion, record.offset()));
-                    }
 
-                    events.add(event);
-                    lastReadOffset = record.offset();
-                    currentVersion = eventVersion + 1;
-                }
+            var endOffset = endOffset(consumer, partition);
+            var tailOffset = readIndexedOffsets(consumer, partition, aggregateId, 0L, endOffset, stream);
+            if (!stream.isComplete()) {
+                readUpTo(consumer, partition, tailOffset, endOffset, stream);
+            }
+            if (!stream.isComplete()) {
+                throw new InconsistentEventStreamException(
+                        String.format("Event stream for accountId %s ends at version %d before target version %d (read up to offset %d)",
+                                aggregateId, stream.currentVersion, targetVersionExclusive, endOffset));
             }
 
-            return new EventStream(events, partitionId, lastReadOffset, currentVersion);
+            return stream.toEventStream(partitionId);
 
         } catch (Exception e) {
+            invalidateOnClientError(lease, e);
             throw new EventReplayException("Unexpected error during event replay up to version for aggregateId: " + aggregateId + ": " +  e.getMessage());
         }
+        finally {
+            lease.close();
+        }
     }
 
     private EventStream readEventsInternal(UUID accountId, long startOffset, int initVersionForStream) {
-        List<Object> deserializedEvents = new ArrayList<>();
         var lastSuccessfullyReadOffset = (startOffset > 0) ? startOffset -1 : -1;
         var targetPartitionId = getPartitionId(accountId);
-        var currentVersion = initVersionForStream;
-
-        try (var consumer = replayConsumerFactory.getObject()) {
+        var stream = new StreamReader(accountId, lastSuccessfullyReadOffset, initVersionForStream, Integer.MAX_VALUE);
 
+        var lease = consumerPool.borrow(targetPartitionId);
+        try {
+            var consumer = lease.consumer();
             var targetTopicPartition = new TopicPartition(topicName, targetPartitionId);
             consumer.assign(List.of(targetTopicPartition));
 
-            if (startOffset > 0) {
-                consumer.seek(targetTopicPartition, startOffset);
-            }
-            else{
-                consumer.seekToBeginning(List.of(targetTopicPartition));
-            }
-
-            var polls = 0;
-            var maxPolls = 5;
-            var consecutiveEmptyPolls = 0;
-            var maxConsecutiveEmptyPolls = 1;
-
-            while (polls < maxPolls && consecutiveEmptyPolls < maxConsecutiveEmptyPolls) {
-                var records = consumer.poll(Duration.ofMillis(200));
-                polls++;
-
-                if (records.isEmpty()) {
-                    consecutiveEmptyPolls++;
-                }
-                else {
-                    consecutiveEmptyPolls = 0;
-                    for (var record : records) {
-                        var rawEvent = record.value();
-                        if (checkEvent(rawEvent, accountId)) {
-                            int eventVersion = getEventVersion(rawEvent);
-                            if (eventVersion == currentVersion) {
-                                deserializedEvents.add(rawEvent);
-                                lastSuccessfullyReadOffset = record.offset();
-                                currentVersion = getEventVersion(rawEvent) + 1;
-                            }
-                            else{
-                                throw new InconsistentEventStreamException(
-                                        String.format("Inconsistent event stream for accountId %s: expected version %d, got %d at offset %d.",
-                                                accountId, currentVersion, eventVersion, record.offset()));
-                            }
-                        }
-                    }
-                }
-            }
-
+            var endOffset = endOffset(consumer, targetTopicPartition);
+            var tailOffset = readIndexedOffsets(consumer, targetTopicPartition, accountId, startOffset, endOffset, stream);
+            readUpTo(consumer, targetTopicPartition, tailOffset, endOffset, stream);
         }
         catch (Exception e) {
+            invalidateOnClientError(lease, e);
             throw new EventReplayException("Unexpected error during event replay for accountId: " + accountId + ": " + e.getMessage());
         }
+        finally {
+            lease.close();
+        }
 
-        return new EventStream(deserializedEvents, targetPartitionId, lastSuccessfullyReadOffset, currentVersion);
+        return stream.toEventStream(targetPartitionId);
 
     }
 
-    private int getEventVersion(Object rawEvent) {
-        if (rawEvent instanceof AccountCreatedEvent event) {
-            return event.baseEvent().aggregateVersion();
+    private void invalidateOnClientError(ReplayConsumerPool.Lease lease, Exception e) {
+        if (e instanceof KafkaException) {
+            lease.invalidate();
         }
-        if (rawEvent instanceof MoneyDepositedEvent event) {
-            return event.baseEvent().aggregateVersion();
-        }
-        if (rawEvent instanceof MoneyWithdrawnEvent event) {
-            return event.baseEvent().aggregateVersion();
+    }
+
+    private long endOffset(KafkaConsumer<String, byte[]> consumer, TopicPartition partition) {
+        var endOffsets = consumer.endOffsets(List.of(partition), replayTimeout);
+        var endOffset = endOffsets.get(partition);
+        if (endOffset == null) {
+            throw new EventReplayException("Could not fetch end offset of partition " + partition.partition());
         }
-        throw new UnsupportedEventTypeException("Unknown event type encountered: " + rawEvent.getClass().getName());
+        return endOffset;
     }
 
-    private boolean isEventForAggregate(Object event, UUID aggregateId) {
-        if (event instanceof AccountCreatedEvent e) {
-            return aggregateId.equals(e.baseEvent().accountId());
+    private void readUpTo(KafkaConsumer<String, byte[]> consumer, TopicPartition partition, long fromOffset, long endOffset, StreamReader stream) {
+        if (fromOffset >= endOffset) {
+            stream.caughtUpTo(endOffset);
+            return;
         }
-        if (event instanceof MoneyDepositedEvent e) {
-            return aggregateId.equals(e.baseEvent().accountId());
+        if (fromOffset > 0) {
+            consumer.seek(partition, fromOffset);
         }
-        if (event instanceof MoneyWithdrawnEvent e) {
-            return aggregateId.equals(e.baseEvent().accountId());
+        else {
+            consumer.seekToBeginning(List.of(partition));
         }
-        return false;
+
+        var deadline = System.nanoTime() + replayTimeout.toNanos();
+        var position = consumer.position(partition);
+        while (!stream.isComplete() && position < endOffset) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new EventReplayException(String.format("Timed out reading partition %d up to offset %d, stopped at offset %d",
+                        partition.partition(), endOffset, position));
+            }
+
+            var records = consumer.poll(POLL_TIMEOUT).records(partition);
+            stream.polled(records);
+            for (var record : records) {
+                if (record.offset() >= endOffset || stream.accept(record)) {
+                    break;
+                }
+            }
+            position = consumer.position(partition);
+        }
+        stream.caughtUpTo(Math.min(position, endOffset));
     }
 
-    private BaseEvent getBaseEventFromRaw(Object event) {
-        return switch (event) {
-            case AccountCreatedEvent e -> e.baseEvent();
-            case MoneyDepositedEvent e -> e.baseEvent();
-            case MoneyWithdrawnEvent e -> e.baseEvent();
-            default -> null;
-        };
+    private long readIndexedOffsets(KafkaConsumer<String, byte[]> consumer, TopicPartition partition, UUID accountId, long startOffset, long endOffset, StreamReader stream) {
+        var indexedUpTo = Math.min(offsetIndex.indexedUpTo(partition.partition()), endOffset);
+        if (indexedUpTo <= startOffset) {
+            return startOffset;
+        }
+
+        var offsets = offsetIndex.offsetsBetween(accountId, partition.partition(), startOffset, indexedUpTo);
+        if (offsets == null) {
+            return startOffset;
+        }
+        var next = 0;
+        var position = -1L;
+        var consecutiveEmptyPolls = 0;
+
+        while (next < offsets.length && !stream.isComplete()) {
+            if (position != offsets[next]) {
+                consumer.seek(partition, offsets[next]);
+            }
+
+            var records = consumer.poll(POLL_TIMEOUT).records(partition);
+            stream.polled(records);
+            if (records.isEmpty()) {
+                if (++consecutiveEmptyPolls >= MAX_INDEXED_EMPTY_POLLS) {
+                    throw new EventReplayException(String.format("Indexed offset %d of partition %d is not readable for accountId: %s",
+                            offsets[next], partition.partition(), accountId));
+                }
+                continue;
+            }
+            consecutiveEmptyPolls = 0;
+            position = records.getLast().offset() + 1;
+
+            for (var record : records) {
+                while (next < offsets.length && offsets[next] < record.offset()) {
+                    next++;
+                }
+                if (next == offsets.length) {
+                    break;
+                }
+                if (offsets[next] == record.offset()) {
+                    next++;
+                    if (stream.accept(record)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        return indexedUpTo;
     }
 
-    private boolean checkEvent(Object rawEvent, UUID accountId) {
-        if (rawEvent instanceof AccountCreatedEvent event) {
-            if (accountId.equals(event.baseEvent().accountId())) {
+    private final class StreamReader {
+        private final UUID accountId;
+        private final String accountKey;
+        private final int targetVersionExclusive;
+        private final List<DomainEvent> events = new ArrayList<>();
+        private final long startedAt = System.nanoTime();
+        private long lastReadOffset;
+        private long caughtUpOffset;
+        private int currentVersion;
+        private boolean complete;
+        private long recordsScanned;
+        private long bytesScanned;
+        private int pollCount;
+
+        private StreamReader(UUID accountId, long lastReadOffset, int initVersion, int targetVersionExclusive) {
+            this.accountId = accountId;
+            this.accountKey = accountId.toString();
+            this.lastReadOffset = lastReadOffset;
+            this.caughtUpOffset = lastReadOffset + 1;
+            this.currentVersion = initVersion;
+            this.targetVersionExclusive = targetVersionExclusive;
+            this.complete = initVersion >= targetVersionExclusive;
+        }
+
+        private boolean accept(ConsumerRecord<String, byte[]> record) {
+            if (complete) {
                 return true;
             }
-        }
-        if (rawEvent instanceof MoneyDepositedEvent event) {
-            if (accountId.equals(event.baseEvent().accountId())) {
+            if (record.key() != null && !accountKey.equals(record.key())) {
+                return false;
+            }
+
+            var headerVersion = EventHeaders.aggregateVersion(record.headers());
+            if (headerVersion != EventHeaders.NO_VERSION && headerVersion >= targetVersionExclusive) {
+                complete = true;
                 return true;
             }
-        }
-        if (rawEvent instanceof MoneyWithdrawnEvent event) {
-            if (accountId.equals(event.baseEvent().accountId())) {
+
+            var rawEvent = eventDeserializer.deserialize(record.topic(), record.headers(), record.value());
+            if (!(rawEvent instanceof DomainEvent event)) {
+                throw new UnsupportedEventTypeException("Unknown event type encountered at offset " + record.offset() + ": "
+                        + (rawEvent == null ? "null" : rawEvent.getClass().getName()));
+            }
+            if (!accountId.equals(event.baseEvent().accountId())) {
+                return false;
+            }
+
+            int eventVersion = event.baseEvent().aggregateVersion();
+            if (eventVersion >= targetVersionExclusive) {
+                complete = true;
                 return true;
             }
+            if (eventVersion != currentVersion) {
+                throw new InconsistentEventStreamException(
+                        String.format("Inconsistent event stream for accountId %s: expected version %d, got %d at offset %d.",
+                                accountId, currentVersion, eventVersion, record.offset()));
+            }
+
+            events.add(event);
+            lastReadOffset = record.offset();
+            caughtUpOffset = Math.max(caughtUpOffset, lastReadOffset + 1);
+            currentVersion = eventVersion + 1;
+            complete = currentVersion >= targetVersionExclusive;
+            return complete;
         }
 
-        return false;
+        private void polled(Iterable<ConsumerRecord<String, byte[]>> records) {
+            pollCount++;
+            for (var record : records) {
+                recordsScanned++;
+                bytesScanned += Math.max(0, record.serializedKeySize()) + Math.max(0, record.serializedValueSize());
+            }
+        }
+
+        private void caughtUpTo(long offset) {
+            caughtUpOffset = Math.max(caughtUpOffset, offset);
+        }
+
+        private boolean isComplete() {
+            return complete;
+        }
+
+        private EventStream toEventStream(int partitionId) {
+            var replayStats = new ReplayStats(recordsScanned, events.size(), bytesScanned, pollCount,
+                    Duration.ofNanos(System.nanoTime() - startedAt));
+            return new EventStream(events, partitionId, lastReadOffset, currentVersion, caughtUpOffset, replayStats);
+        }
     }
 
     private int getPartitionId(UUID accountId) {
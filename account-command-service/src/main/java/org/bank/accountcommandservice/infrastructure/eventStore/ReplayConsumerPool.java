@@ -0,0 +1,207 @@
+package org.bank.accountcommandservice.infrastructure.eventStore;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.bank.accountcommandservice.infrastructure.exception.EventReplayException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Profile("!file-store & !jdbc-store")
+public class ReplayConsumerPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayConsumerPool.class);
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final String topicName;
+    private final ObjectFactory<KafkaConsumer<String, byte[]>> replayConsumerFactory;
+    private final boolean perPartition;
+    private final Duration borrowTimeout;
+    private final boolean warmUp;
+
+    private final List<Queue<KafkaConsumer<String, byte[]>>> idleConsumers;
+    private final Semaphore[] permits;
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer borrowTimer;
+
+    public ReplayConsumerPool(
+            @Value("${app.kafka.topic-name}") String topicName,
+            @Value("${app.kafka.topic-partitions}") int numPartitions,
+            @Value("${app.kafka.replay-pool.max-size:10}") int maxSize,
+            @Value("${app.kafka.replay-pool.per-partition:false}") boolean perPartition,
+            @Value("${app.kafka.replay-pool.max-per-partition:1}") int maxPerPartition,
+            @Value("${app.kafka.replay-pool.borrow-timeout:5s}") Duration borrowTimeout,
+            @Value("${app.kafka.replay-pool.warm-up:true}") boolean warmUp,
+            @Qualifier("replayKafkaConsumer") ObjectFactory<KafkaConsumer<String, byte[]>> replayConsumerFactory,
+            MeterRegistry meterRegistry
+    ) {
+        this.topicName = topicName;
+        this.replayConsumerFactory = replayConsumerFactory;
+        this.perPartition = perPartition;
+        this.borrowTimeout = borrowTimeout;
+        this.warmUp = warmUp;
+
+        int slots = perPartition ? numPartitions : 1;
+        int slotCapacity = perPartition ? maxPerPartition : maxSize;
+        this.idleConsumers = new ArrayList<>(slots);
+        this.permits = new Semaphore[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            idleConsumers.add(new ConcurrentLinkedQueue<>());
+            permits[slot] = new Semaphore(slotCapacity, true);
+        }
+
+        this.borrowTimer = Timer.builder("replay.consumer.pool.borrow.wait")
+                .description("Time spent waiting for a replay consumer")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("replay.consumer.pool.size", size, AtomicInteger::get)
+                .description("Replay consumers currently open")
+                .register(meterRegistry);
+        Gauge.builder("replay.consumer.pool.active", active, AtomicInteger::get)
+                .description("Replay consumers currently borrowed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        if (!warmUp) {
+            return;
+        }
+        for (int slot = 0; slot < idleConsumers.size(); slot++) {
+            try {
+                idleConsumers.get(slot).offer(createConsumer(slot));
+            }
+            catch (Exception e) {
+                log.warn("Could not pre-connect replay consumer for topic {}: {}", topicName, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    public Lease borrow(int partition) {
+        int slot = perPartition ? partition : 0;
+        long start = System.nanoTime();
+        try {
+            if (!permits[slot].tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new EventReplayException("Timed out waiting for a replay consumer for partition " + partition);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventReplayException("Interrupted while waiting for a replay consumer for partition " + partition);
+        }
+        finally {
+            borrowTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            var consumer = idleConsumers.get(slot).poll();
+            if (consumer == null) {
+                consumer = createConsumer(slot);
+            }
+            active.incrementAndGet();
+            return new Lease(slot, consumer);
+        }
+        catch (RuntimeException e) {
+            permits[slot].release();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        for (var idle : idleConsumers) {
+            KafkaConsumer<String, byte[]> consumer;
+            while ((consumer = idle.poll()) != null) {
+                closeQuietly(consumer);
+            }
+        }
+    }
+
+    private KafkaConsumer<String, byte[]> createConsumer(int slot) {
+        var consumer = replayConsumerFactory.getObject();
+        try {
+            if (perPartition) {
+                consumer.assign(List.of(new TopicPartition(topicName, slot)));
+            }
+            consumer.partitionsFor(topicName, CONNECT_TIMEOUT);
+        }
+        catch (RuntimeException e) {
+            consumer.close();
+            throw e;
+        }
+        size.incrementAndGet();
+        return consumer;
+    }
+
+    private void release(int slot, KafkaConsumer<String, byte[]> consumer, boolean reusable) {
+        active.decrementAndGet();
+        if (reusable) {
+            idleConsumers.get(slot).offer(consumer);
+        }
+        else {
+            closeQuietly(consumer);
+        }
+        permits[slot].release();
+    }
+
+    private void closeQuietly(KafkaConsumer<String, byte[]> consumer) {
+        size.decrementAndGet();
+        try {
+            consumer.close(Duration.ofSeconds(1));
+        }
+        catch (Exception e) {
+            log.debug("Failed to close replay consumer: {}", e.getMessage());
+        }
+    }
+
+    public final class Lease implements AutoCloseable {
+        private final int slot;
+        private final KafkaConsumer<String, byte[]> consumer;
+        private boolean reusable = true;
+        private boolean released;
+
+        private Lease(int slot, KafkaConsumer<String, byte[]> consumer) {
+            this.slot = slot;
+            this.consumer = consumer;
+        }
+
+        public KafkaConsumer<String, byte[]> consumer() {
+            return consumer;
+        }
+
+        public void invalidate() {
+            reusable = false;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            release(slot, consumer, reusable);
+        }
+    }
+}
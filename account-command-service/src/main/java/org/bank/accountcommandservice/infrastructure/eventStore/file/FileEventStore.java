@@ -0,0 +1,430 @@
+package org.bank.accountcommandservice.infrastructure.eventStore.file;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.model.EventStream;
+import org.bank.accountcommandservice.domain.model.ReplayStats;
+import org.bank.accountcommandservice.domain.repository.EventStore;
+import org.bank.accountcommandservice.infrastructure.exception.EventPersistenceException;
+import org.bank.accountcommandservice.infrastructure.exception.EventReplayException;
+import org.bank.accountcommandservice.infrastructure.exception.EventVersionConflictException;
+import org.bank.accountcommandservice.infrastructure.exception.InconsistentEventStreamException;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventCodec;
+import org.bank.accountcommandservice.infrastructure.serialization.EventHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Profile("file-store")
+public class FileEventStore implements EventStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileEventStore.class);
+
+    private static final String RELAY_CHECKPOINT = "relay.checkpoint";
+    private static final int RELAY_BATCH_SIZE = 500;
+    private static final Duration RELAY_IDLE_WAIT = Duration.ofMillis(20);
+
+    private final SegmentedEventLog eventLog;
+    private final Path directory;
+    private final boolean fsync;
+    private final boolean relayEnabled;
+    private final String topicName;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final AccountEventCodec codec = new AccountEventCodec();
+
+    private final Map<UUID, AccountEntries> entriesByAccount = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> appendedVersions = new HashMap<>();
+    private final Lock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+    private List<PendingAppend> pending = new ArrayList<>();
+    private int unflushedFromSegment;
+    private RuntimeException failure;
+
+    private volatile long durableEnd;
+    private volatile boolean running;
+    private Thread flusherThread;
+    private Thread relayThread;
+
+    public FileEventStore(
+            @Value("${app.file-store.directory:data/events}") Path directory,
+            @Value("${app.file-store.segment-size:67108864}") int segmentSize,
+            @Value("${app.file-store.fsync:true}") boolean fsync,
+            @Value("${app.file-store.relay.enabled:true}") boolean relayEnabled,
+            @Value("${app.kafka.topic-name}") String topicName,
+            KafkaTemplate<String, Object> kafkaTemplate
+    ) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.relayEnabled = relayEnabled;
+        this.topicName = topicName;
+        this.kafkaTemplate = kafkaTemplate;
+        this.eventLog = new SegmentedEventLog(directory, segmentSize, this::index);
+        this.durableEnd = eventLog.endLocation();
+        this.unflushedFromSegment = eventLog.activeSegment();
+        entriesByAccount.forEach((accountId, entries) -> appendedVersions.put(accountId, entries.size()));
+        log.info("Opened file event store in {} with {} accounts", directory, entriesByAccount.size());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusherThread = Thread.ofVirtual().name("file-store-flusher").start(this::runFlusher);
+        if (relayEnabled) {
+            relayThread = Thread.ofVirtual().name("file-store-relay").start(this::runRelay);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        appendLock.lock();
+        try {
+            appended.signalAll();
+        }
+        finally {
+            appendLock.unlock();
+        }
+        if (flusherThread != null) {
+            flusherThread.join(Duration.ofSeconds(5));
+        }
+        if (relayThread != null) {
+            relayThread.interrupt();
+            relayThread.join(Duration.ofSeconds(5));
+        }
+        eventLog.close();
+    }
+
+    @Override
+    public long saveEvents(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+        try {
+            return saveEventsAsync(accountId, expectedVersion, events).join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof EventPersistenceException persistenceException) {
+                throw persistenceException;
+            }
+            if (e.getCause() instanceof EventVersionConflictException conflictException) {
+                throw conflictException;
+            }
+            throw new EventPersistenceException("Unexpected error while saving event for accountId: " + accountId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Long> saveEventsAsync(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return CompletableFuture.completedFuture(-1L);
+        }
+
+        List<byte[]> encoded = new ArrayList<>(events.size());
+        var version = expectedVersion;
+        for (var event : events) {
+            var baseEvent = event.baseEvent();
+            if (!accountId.equals(baseEvent.accountId())) {
+                return CompletableFuture.failedFuture(new EventPersistenceException(
+                        "Event " + event.getClass().getSimpleName() + " does not belong to accountId: " + accountId));
+            }
+            if (baseEvent.aggregateVersion() != version++) {
+                return CompletableFuture.failedFuture(new EventPersistenceException(String.format(
+                        "Events for accountId %s are not contiguous: expected version %d, got %d", accountId, version - 1, baseEvent.aggregateVersion())));
+            }
+            encoded.add(codec.encode(event));
+        }
+
+        var future = new CompletableFuture<Long>();
+        appendLock.lock();
+        try {
+            if (failure != null) {
+                throw new EventPersistenceException("File event store is unavailable after an earlier failure: " + failure.getMessage());
+            }
+            var currentVersion = appendedVersions.getOrDefault(accountId, 0);
+            if (currentVersion != expectedVersion) {
+                throw new EventVersionConflictException(String.format("Version conflict for accountId %s: expected version %d, but the stream is at version %d",
+                        accountId, expectedVersion, currentVersion));
+            }
+
+            List<SegmentedEventLog.LogRecord> records = new ArrayList<>(encoded.size());
+            for (int i = 0; i < encoded.size(); i++) {
+                records.add(eventLog.append(accountId, expectedVersion + i, encoded.get(i)));
+            }
+            appendedVersions.put(accountId, expectedVersion + encoded.size());
+            pending.add(new PendingAppend(records, future));
+            appended.signal();
+        }
+        catch (IOException e) {
+            failure = new UncheckedIOException(e);
+            future.completeExceptionally(new EventPersistenceException("Unexpected error while saving event for accountId: " + accountId + ": " + e.getMessage()));
+        }
+        catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        finally {
+            appendLock.unlock();
+        }
+        return future;
+    }
+
+    @Override
+    public boolean enforcesExpectedVersion() {
+        return true;
+    }
+
+    @Override
+    public EventStream loadEventStream(UUID aggregateId) {
+        return read(aggregateId, 0, Integer.MAX_VALUE, -1L);
+    }
+
+    @Override
+    public EventStream loadEventStreamAfter(UUID aggregateId, long offset, int version) {
+        return read(aggregateId, version, Integer.MAX_VALUE, offset);
+    }
+
+    @Override
+    public EventStream loadEventStreamUpToVersion(UUID aggregateId, int targetVersionExclusive) {
+        var stream = read(aggregateId, 0, targetVersionExclusive, -1L);
+        if (stream.version() < targetVersionExclusive) {
+            throw new EventReplayException("Unexpected error during event replay up to version for aggregateId: " + aggregateId + ": "
+                    + String.format("event stream ends at version %d before target version %d", stream.version(), targetVersionExclusive));
+        }
+        return stream;
+    }
+
+    private EventStream read(UUID accountId, int fromVersion, int toVersionExclusive, long lastReadOffset) {
+        var startedAt = System.nanoTime();
+        var entries = entriesByAccount.get(accountId);
+        var locations = entries == null ? new long[0] : entries.between(fromVersion, toVersionExclusive);
+
+        List<DomainEvent> events = new ArrayList<>(locations.length);
+        long bytesRead = 0;
+        try {
+            for (var location : locations) {
+                var record = eventLog.read(location);
+                if (!accountId.equals(record.accountId()) || record.version() != fromVersion + events.size()) {
+                    throw new InconsistentEventStreamException(String.format("Inconsistent event stream for accountId %s: expected version %d, got %d at offset %d.",
+                            accountId, fromVersion + events.size(), record.version(), record.sequence()));
+                }
+                events.add(codec.decode(record.event()));
+                lastReadOffset = record.sequence();
+                bytesRead += record.size();
+            }
+        }
+        catch (RuntimeException e) {
+            throw new EventReplayException("Unexpected error during event replay for accountId: " + accountId + ": " + e.getMessage());
+        }
+
+        var replayStats = new ReplayStats(events.size(), events.size(), bytesRead, 0, Duration.ofNanos(System.nanoTime() - startedAt));
+        return new EventStream(events, 0, lastReadOffset, fromVersion + events.size(), lastReadOffset + 1, replayStats);
+    }
+
+    private void runFlusher() {
+        while (true) {
+            List<PendingAppend> batch;
+            int fromSegment;
+            long batchEnd;
+            appendLock.lock();
+            try {
+                while (pending.isEmpty() && running) {
+                    appended.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                fromSegment = unflushedFromSegment;
+                unflushedFromSegment = eventLog.activeSegment();
+                batchEnd = eventLog.endLocation();
+            }
+            finally {
+                appendLock.unlock();
+            }
+
+            try {
+                if (fsync) {
+                    eventLog.force(fromSegment);
+                }
+            }
+            catch (RuntimeException e) {
+                failAll(batch, e);
+                continue;
+            }
+
+            for (var append : batch) {
+                for (var record : append.records()) {
+                    index(record);
+                }
+                append.future().complete(append.records().getLast().sequence());
+            }
+            durableEnd = batchEnd;
+        }
+    }
+
+    private void failAll(List<PendingAppend> batch, RuntimeException e) {
+        log.error("Failed to flush {} appends to {}: {}", batch.size(), directory, e.getMessage());
+        appendLock.lock();
+        try {
+            failure = e;
+        }
+        finally {
+            appendLock.unlock();
+        }
+        for (var append : batch) {
+            append.future().completeExceptionally(new EventPersistenceException("Failed to flush events to disk: " + e.getMessage()));
+        }
+    }
+
+    private void index(SegmentedEventLog.LogRecord record) {
+        var entries = entriesByAccount.computeIfAbsent(record.accountId(), id -> new AccountEntries());
+        if (!entries.add(record.version(), record.location())) {
+            throw new InconsistentEventStreamException(String.format("Inconsistent event log for accountId %s: version %d at offset %d does not follow version %d",
+                    record.accountId(), record.version(), record.sequence(), entries.size() - 1));
+        }
+    }
+
+    private void runRelay() {
+        var cursor = readCheckpoint();
+        while (running) {
+            try {
+                List<SegmentedEventLog.LogRecord> batch = new ArrayList<>(RELAY_BATCH_SIZE);
+                var next = cursor;
+                var end = durableEnd;
+                while (batch.size() < RELAY_BATCH_SIZE && next < end) {
+                    var record = eventLog.readNext(next);
+                    if (record == null || record.location() >= end) {
+                        break;
+                    }
+                    batch.add(record);
+                    next = SegmentedEventLog.nextLocation(record);
+                }
+
+                if (batch.isEmpty()) {
+                    Thread.sleep(RELAY_IDLE_WAIT);
+                    continue;
+                }
+
+                var sends = kafkaTemplate.isTransactional()
+                        ? kafkaTemplate.executeInTransaction(operations -> sendAll(operations, batch))
+                        : sendAll(kafkaTemplate, batch);
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+                writeCheckpoint(next);
+                cursor = next;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (Exception e) {
+                log.warn("Relaying events from {} to topic {} failed, retrying: {}", directory, topicName, e.getMessage());
+                try {
+                    Thread.sleep(Duration.ofSeconds(1));
+                }
+                catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<CompletableFuture<?>> sendAll(KafkaOperations<String, Object> operations, List<SegmentedEventLog.LogRecord> records) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(records.size());
+        for (var record : records) {
+            var event = codec.decode(record.event());
+            sends.add(operations.send(new ProducerRecord<>(topicName, null, record.accountId().toString(), event,
+                    EventHeaders.of(record.accountId(), record.version()))));
+        }
+        return sends;
+    }
+
+    private long readCheckpoint() {
+        var checkpoint = directory.resolve(RELAY_CHECKPOINT);
+        try {
+            return Files.exists(checkpoint) ? ByteBuffer.wrap(Files.readAllBytes(checkpoint)).getLong() : 0L;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCheckpoint(long location) throws IOException {
+        var temp = directory.resolve(RELAY_CHECKPOINT + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(location).array());
+        Files.move(temp, directory.resolve(RELAY_CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private record PendingAppend(List<SegmentedEventLog.LogRecord> records, CompletableFuture<Long> future) {
+    }
+
+    private static final class AccountEntries {
+        private final Lock lock = new ReentrantLock();
+        private long[] locations = new long[4];
+        private int size;
+
+        boolean add(int version, long location) {
+            lock.lock();
+            try {
+                if (version != size) {
+                    return false;
+                }
+                if (size == locations.length) {
+                    locations = Arrays.copyOf(locations, size * 2);
+                }
+                locations[size++] = location;
+                return true;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        long[] between(int fromVersion, int toVersionExclusive) {
+            lock.lock();
+            try {
+                var from = Math.max(0, fromVersion);
+                var to = Math.min(size, toVersionExclusive);
+                return from >= to ? new long[0] : Arrays.copyOfRange(locations, from, to);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return size;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+}
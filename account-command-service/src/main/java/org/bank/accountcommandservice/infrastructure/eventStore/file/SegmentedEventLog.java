@@ -0,0 +1,232 @@
+package org.bank.accountcommandservice.infrastructure.eventStore.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of fixed-size, memory-mapped segment files. Each record is
+ * {@code [int payloadLength][int crc32c][long sequence][uuid accountId][int version][event bytes]},
+ * with the checksum covering everything after it. A zero length marks the end of a segment's data.
+ * Locations pack the segment number into the high and the byte position into the low 32 bits.
+ * Appends and {@link #force(int)} must be serialized by the caller; reads may run concurrently.
+ */
+final class SegmentedEventLog implements Closeable {
+
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+    static final int PAYLOAD_HEADER_SIZE = Long.BYTES + Long.BYTES * 2 + Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    private Segment active;
+    private int writePosition;
+    private long nextSequence;
+
+    SegmentedEventLog(Path directory, int segmentSize, Consumer<LogRecord> recovered) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover(recovered);
+    }
+
+    LogRecord append(UUID accountId, int version, byte[] event) throws IOException {
+        var payloadSize = PAYLOAD_HEADER_SIZE + event.length;
+        var recordSize = HEADER_SIZE + payloadSize;
+        if (recordSize + HEADER_SIZE > segmentSize) {
+            throw new IOException("Record of " + recordSize + " bytes does not fit a segment of " + segmentSize + " bytes");
+        }
+        if (writePosition + recordSize + HEADER_SIZE > segmentSize) {
+            active = openSegment(active.number() + 1);
+            writePosition = 0;
+        }
+
+        var buffer = active.buffer();
+        var sequence = nextSequence;
+        var payloadStart = writePosition + HEADER_SIZE;
+        buffer.putLong(payloadStart, sequence);
+        buffer.putLong(payloadStart + Long.BYTES, accountId.getMostSignificantBits());
+        buffer.putLong(payloadStart + Long.BYTES * 2, accountId.getLeastSignificantBits());
+        buffer.putInt(payloadStart + Long.BYTES * 3, version);
+        buffer.put(payloadStart + PAYLOAD_HEADER_SIZE, event);
+        buffer.putInt(writePosition + Integer.BYTES, checksum(buffer, payloadStart, payloadSize));
+        buffer.putInt(writePosition, payloadSize);
+
+        var record = new LogRecord(location(active.number(), writePosition), recordSize, sequence, accountId, version, event);
+        writePosition += recordSize;
+        nextSequence++;
+        return record;
+    }
+
+    LogRecord read(long location) {
+        var record = readAt(location);
+        if (record == null) {
+            throw new IllegalStateException("No valid record at segment " + segmentNumber(location) + " position " + position(location));
+        }
+        return record;
+    }
+
+    /**
+     * Returns the record at {@code location}, or at the start of the next segment when the location is past
+     * the last record of its segment, or {@code null} when there is nothing valid there.
+     */
+    LogRecord readNext(long location) {
+        var record = readAt(location);
+        if (record == null && segmentNumber(location) + 1 < segments.size()) {
+            return readAt(location(segmentNumber(location) + 1, 0));
+        }
+        return record;
+    }
+
+    void force(int fromSegment) {
+        for (int number = Math.max(0, fromSegment); number < segments.size(); number++) {
+            segments.get(number).buffer().force();
+        }
+    }
+
+    int activeSegment() {
+        return active.number();
+    }
+
+    long endLocation() {
+        return location(active.number(), writePosition);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (var segment : segments) {
+            segment.channel().close();
+        }
+    }
+
+    static long nextLocation(LogRecord record) {
+        return record.location() + record.size();
+    }
+
+    private void recover(Consumer<LogRecord> recovered) throws IOException {
+        List<Path> files;
+        try (var listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(".segment")).sorted().toList();
+        }
+
+        for (int number = 0; number < files.size(); number++) {
+            if (!files.get(number).equals(segmentPath(number))) {
+                throw new IOException("Missing segment " + segmentPath(number) + " in " + directory);
+            }
+            active = openSegment(number);
+            writePosition = 0;
+
+            LogRecord record;
+            while ((record = readAt(location(number, writePosition))) != null) {
+                if (record.sequence() != nextSequence) {
+                    throw new IOException("Segment " + number + " has sequence " + record.sequence() + " where " + nextSequence + " was expected");
+                }
+                recovered.accept(record);
+                writePosition += record.size();
+                nextSequence++;
+            }
+
+            var isLast = number == files.size() - 1;
+            if (isLast) {
+                truncateTail();
+            }
+        }
+
+        if (active == null) {
+            active = openSegment(0);
+            writePosition = 0;
+        }
+    }
+
+    private void truncateTail() {
+        var buffer = active.buffer();
+        var dirty = false;
+        for (int position = writePosition; position < segmentSize; position++) {
+            if (buffer.get(position) != 0) {
+                buffer.put(position, (byte) 0);
+                dirty = true;
+            }
+        }
+        if (dirty) {
+            buffer.force();
+        }
+    }
+
+    private LogRecord readAt(long location) {
+        var number = segmentNumber(location);
+        var position = position(location);
+        if (number >= segments.size() || position + HEADER_SIZE > segmentSize) {
+            return null;
+        }
+
+        var buffer = segments.get(number).buffer();
+        var payloadSize = buffer.getInt(position);
+        if (payloadSize < PAYLOAD_HEADER_SIZE || position + HEADER_SIZE + payloadSize > segmentSize) {
+            return null;
+        }
+        var payloadStart = position + HEADER_SIZE;
+        if (buffer.getInt(position + Integer.BYTES) != checksum(buffer, payloadStart, payloadSize)) {
+            return null;
+        }
+
+        var sequence = buffer.getLong(payloadStart);
+        var accountId = new UUID(buffer.getLong(payloadStart + Long.BYTES), buffer.getLong(payloadStart + Long.BYTES * 2));
+        var version = buffer.getInt(payloadStart + Long.BYTES * 3);
+        var event = new byte[payloadSize - PAYLOAD_HEADER_SIZE];
+        buffer.get(payloadStart + PAYLOAD_HEADER_SIZE, event);
+        return new LogRecord(location, HEADER_SIZE + payloadSize, sequence, accountId, version, event);
+    }
+
+    private Segment openSegment(int number) throws IOException {
+        var channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            var segment = new Segment(number, channel, buffer);
+            segments.add(segment);
+            return segment;
+        }
+        catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%010d.segment", number));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        var crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    static long location(int segmentNumber, int position) {
+        return ((long) segmentNumber << 32) | (position & 0xFFFFFFFFL);
+    }
+
+    static int segmentNumber(long location) {
+        return (int) (location >>> 32);
+    }
+
+    static int position(long location) {
+        return (int) location;
+    }
+
+    record LogRecord(long location, int size, long sequence, UUID accountId, int version, byte[] event) {
+    }
+
+    private record Segment(int number, FileChannel channel, MappedByteBuffer buffer) {
+    }
+}
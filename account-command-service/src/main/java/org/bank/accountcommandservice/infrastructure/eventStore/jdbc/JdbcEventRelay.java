@@ -0,0 +1,103 @@
+package org.bank.accountcommandservice.infrastructure.eventStore.jdbc;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventCodec;
+import org.bank.accountcommandservice.infrastructure.serialization.EventHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@Profile("jdbc-store")
+public class JdbcEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcEventRelay.class);
+
+    private static final long RELAY_LOCK_KEY = 0x6576656e74730001L;
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+
+    private static final String SELECT_UNPUBLISHED_SQL = """
+            SELECT account_id, version, event_offset, payload FROM events
+            WHERE NOT published
+            ORDER BY event_offset
+            LIMIT ?
+            """;
+
+    private static final String MARK_PUBLISHED_SQL = "UPDATE events SET published = true WHERE event_offset = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topicName;
+    private final int batchSize;
+    private final AccountEventCodec codec = new AccountEventCodec();
+
+    public JdbcEventRelay(JdbcTemplate jdbcTemplate,
+                          KafkaTemplate<String, Object> kafkaTemplate,
+                          @Value("${app.kafka.topic-name}") String topicName,
+                          @Value("${app.jdbc-store.relay.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topicName = topicName;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.jdbc-store.relay.interval:50ms}", fixedDelayString = "${app.jdbc-store.relay.interval:50ms}")
+    @Transactional
+    public void relay() throws InterruptedException {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, RELAY_LOCK_KEY))) {
+            return;
+        }
+
+        var rows = jdbcTemplate.query(SELECT_UNPUBLISHED_SQL, (rs, rowNum) -> new OutboxRow(
+                rs.getObject(1, UUID.class), rs.getInt(2), rs.getLong(3), rs.getBytes(4)), batchSize);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            var sends = kafkaTemplate.isTransactional()
+                    ? kafkaTemplate.executeInTransaction(operations -> sendAll(operations, rows))
+                    : sendAll(kafkaTemplate, rows);
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        }
+        catch (ExecutionException | TimeoutException | RuntimeException e) {
+            log.warn("Relaying {} events to topic {} failed, retrying: {}", rows.size(), topicName, e.getMessage());
+            return;
+        }
+
+        var offsets = rows.stream().map(OutboxRow::offset).toArray(Long[]::new);
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(MARK_PUBLISHED_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", offsets));
+            return statement;
+        });
+    }
+
+    private List<CompletableFuture<?>> sendAll(KafkaOperations<String, Object> operations, List<OutboxRow> rows) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(rows.size());
+        for (var row : rows) {
+            sends.add(operations.send(new ProducerRecord<>(topicName, null, row.accountId().toString(), codec.decode(row.payload()),
+                    EventHeaders.of(row.accountId(), row.version()))));
+        }
+        return sends;
+    }
+
+    private record OutboxRow(UUID accountId, int version, long offset, byte[] payload) {
+    }
+}
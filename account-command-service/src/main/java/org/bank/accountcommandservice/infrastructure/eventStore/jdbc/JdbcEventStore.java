@@ -0,0 +1,210 @@
+package org.bank.accountcommandservice.infrastructure.eventStore.jdbc;
+
+import jakarta.annotation.PostConstruct;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.model.EventStream;
+import org.bank.accountcommandservice.domain.model.ReplayStats;
+import org.bank.accountcommandservice.domain.repository.EventStore;
+import org.bank.accountcommandservice.infrastructure.exception.EventPersistenceException;
+import org.bank.accountcommandservice.infrastructure.exception.EventReplayException;
+import org.bank.accountcommandservice.infrastructure.exception.EventVersionConflictException;
+import org.bank.accountcommandservice.infrastructure.exception.InconsistentEventStreamException;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventCodec;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@Profile("jdbc-store")
+public class JdbcEventStore implements EventStore {
+
+    static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS events (
+                account_id   UUID         NOT NULL,
+                version      INTEGER      NOT NULL,
+                event_offset BIGSERIAL    NOT NULL UNIQUE,
+                type         VARCHAR(64)  NOT NULL,
+                payload      BYTEA        NOT NULL,
+                created_at   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+                published    BOOLEAN      NOT NULL DEFAULT false,
+                PRIMARY KEY (account_id, version)
+            )
+            """;
+
+    private static final String CREATE_UNPUBLISHED_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_events_unpublished ON events (event_offset) WHERE NOT published";
+
+    private static final String CURRENT_VERSION_SQL = "SELECT coalesce(max(version) + 1, 0) FROM events WHERE account_id = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO events (account_id, version, type, payload) VALUES ";
+
+    private static final String SELECT_SQL = """
+            SELECT version, event_offset, payload FROM events
+            WHERE account_id = ? AND version >= ? AND version < ?
+            ORDER BY version
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate appendTransaction;
+    private final AccountEventCodec codec = new AccountEventCodec();
+
+    public JdbcEventStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.appendTransaction = new TransactionTemplate(transactionManager);
+        this.appendTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+    }
+
+    @PostConstruct
+    public void createSchema() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.execute(CREATE_UNPUBLISHED_INDEX_SQL);
+    }
+
+    @Override
+    public long saveEvents(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return -1L;
+        }
+        checkEventVersions(accountId, expectedVersion, events);
+
+        var sql = new StringBuilder(INSERT_SQL);
+        var args = new ArrayList<>(events.size() * 4);
+        for (var event : events) {
+            sql.append(args.isEmpty() ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+            args.add(accountId);
+            args.add(event.baseEvent().aggregateVersion());
+            args.add(event.getClass().getSimpleName());
+            args.add(codec.encode(event));
+        }
+
+        try {
+            var lastOffset = appendTransaction.execute(status -> {
+                var currentVersion = jdbcTemplate.queryForObject(CURRENT_VERSION_SQL, Integer.class, accountId);
+                if (currentVersion == null || currentVersion != expectedVersion) {
+                    throw new EventVersionConflictException(String.format("Version conflict for accountId %s: expected version %d, but the stream is at version %d",
+                            accountId, expectedVersion, currentVersion));
+                }
+                var keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    var statement = connection.prepareStatement(sql.toString(), new String[]{"event_offset"});
+                    new ArgumentPreparedStatementSetter(args.toArray()).setValues(statement);
+                    return statement;
+                }, keyHolder);
+                return keyHolder.getKeyList().stream()
+                        .mapToLong(keys -> ((Number) keys.values().iterator().next()).longValue())
+                        .max()
+                        .orElseThrow();
+            });
+            return lastOffset;
+        }
+        catch (DuplicateKeyException e) {
+            throw new EventVersionConflictException(String.format("Version conflict for accountId %s: version %d was written concurrently",
+                    accountId, expectedVersion));
+        }
+        catch (EventVersionConflictException e) {
+            throw e;
+        }
+        catch (RuntimeException e) {
+            throw new EventPersistenceException("Unexpected error while saving event for accountId: " + accountId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Long> saveEventsAsync(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+        try {
+            return CompletableFuture.completedFuture(saveEvents(accountId, expectedVersion, events));
+        }
+        catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public boolean enforcesExpectedVersion() {
+        return true;
+    }
+
+    @Override
+    public EventStream loadEventStream(UUID aggregateId) {
+        try {
+            return read(aggregateId, 0, Integer.MAX_VALUE, -1L);
+        }
+        catch (Exception e) {
+            throw new EventReplayException("Unexpected error during event replay for accountId: " + aggregateId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public EventStream loadEventStreamAfter(UUID aggregateId, long offset, int version) {
+        try {
+            return read(aggregateId, version, Integer.MAX_VALUE, offset);
+        }
+        catch (Exception e) {
+            throw new EventReplayException("Unexpected error during event replay after offset for aggregateId: " + aggregateId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public EventStream loadEventStreamUpToVersion(UUID aggregateId, int targetVersionExclusive) {
+        try {
+            var stream = read(aggregateId, 0, targetVersionExclusive, -1L);
+            if (stream.version() < targetVersionExclusive) {
+                throw new InconsistentEventStreamException(String.format("Event stream for accountId %s ends at version %d before target version %d",
+                        aggregateId, stream.version(), targetVersionExclusive));
+            }
+            return stream;
+        }
+        catch (Exception e) {
+            throw new EventReplayException("Unexpected error during event replay up to version for aggregateId: " + aggregateId + ": " + e.getMessage());
+        }
+    }
+
+    private EventStream read(UUID accountId, int fromVersion, int toVersionExclusive, long lastReadOffset) {
+        var startedAt = System.nanoTime();
+        List<DomainEvent> events = new ArrayList<>();
+        var lastOffset = new long[]{lastReadOffset};
+        var bytesRead = new long[1];
+
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            var version = rs.getInt(1);
+            if (version != fromVersion + events.size()) {
+                throw new InconsistentEventStreamException(String.format("Inconsistent event stream for accountId %s: expected version %d, got %d at offset %d.",
+                        accountId, fromVersion + events.size(), version, rs.getLong(2)));
+            }
+            var payload = rs.getBytes(3);
+            events.add(codec.decode(payload));
+            lastOffset[0] = Math.max(lastOffset[0], rs.getLong(2));
+            bytesRead[0] += payload.length;
+        }, accountId, fromVersion, toVersionExclusive);
+
+        var replayStats = new ReplayStats(events.size(), events.size(), bytesRead[0], 0, Duration.ofNanos(System.nanoTime() - startedAt));
+        return new EventStream(events, 0, lastOffset[0], fromVersion + events.size(), lastOffset[0] + 1, replayStats);
+    }
+
+    private void checkEventVersions(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+        var version = expectedVersion;
+        for (var event : events) {
+            var baseEvent = event.baseEvent();
+            if (!accountId.equals(baseEvent.accountId())) {
+                throw new EventPersistenceException("Event " + event.getClass().getSimpleName() + " does not belong to accountId: " + accountId);
+            }
+            if (baseEvent.aggregateVersion() != version) {
+                throw new EventPersistenceException(String.format("Events for accountId %s are not contiguous: expected version %d, got %d",
+                        accountId, version, baseEvent.aggregateVersion()));
+            }
+            version++;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.bank.accountcommandservice.infrastructure.exception;
+
+public class CommandCapacityExceededException extends RuntimeException {
+    public CommandCapacityExceededException(String message) {
+        super(message);
+    }
+}
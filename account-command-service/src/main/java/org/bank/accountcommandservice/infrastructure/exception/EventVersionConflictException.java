@@ -0,0 +1,7 @@
+package org.bank.accountcommandservice.infrastructure.exception;
+
+public class EventVersionConflictException extends RuntimeException {
+    public EventVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.bank.accountcommandservice.infrastructure.exception;
+
+public class PartitionBusyException extends RuntimeException {
+    public PartitionBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.bank.accountcommandservice.infrastructure.exception;
+
+public class PartitionNotOwnedException extends RuntimeException {
+    public PartitionNotOwnedException(String message) {
+        super(message);
+    }
+}
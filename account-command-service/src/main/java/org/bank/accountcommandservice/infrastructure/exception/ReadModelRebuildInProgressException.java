@@ -0,0 +1,7 @@
+package org.bank.accountcommandservice.infrastructure.exception;
+
+public class ReadModelRebuildInProgressException extends RuntimeException {
+    public ReadModelRebuildInProgressException(String message) {
+        super(message);
+    }
+}
@@ -3,10 +3,14 @@ package org.bank.accountcommandservice.infrastructure.persistence.entity;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "account_snapshots")
+@Table(
+        name = "account_snapshots",
+        indexes = @Index(name = "idx_account_snapshots_account_version", columnList = "account_id, version DESC")
+)
 public class SnapshotEntity {
     private UUID id;
     private UUID accountId;
@@ -14,17 +18,19 @@ public class SnapshotEntity {
     private BigDecimal balance;
     private int version;
     private long kafkaEventOffset;
+    private Instant createdAt;
 
     protected SnapshotEntity() {
 
     }
 
-    public SnapshotEntity(UUID accountId, String accountName, BigDecimal balance, int version, long kafkaEventOffset) {
+    public SnapshotEntity(UUID accountId, String accountName, BigDecimal balance, int version, long kafkaEventOffset, Instant createdAt) {
         this.accountId = accountId;
         this.accountName = accountName;
         this.balance = balance;
         this.version = version;
         this.kafkaEventOffset = kafkaEventOffset;
+        this.createdAt = createdAt;
     }
 
     @Id
@@ -84,4 +90,13 @@ public class SnapshotEntity {
     public void setOffset(long kafkaEventOffset) {
         this.kafkaEventOffset = kafkaEventOffset;
     }
+
+    @Column(name = "created_at")
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
 }
@@ -0,0 +1,75 @@
+package org.bank.accountcommandservice.infrastructure.persistence.impl;
+
+import org.bank.accountcommandservice.domain.model.Account;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+@Repository
+public class AccountBulkLoader {
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE accounts_staging (LIKE accounts INCLUDING DEFAULTS) ON COMMIT DROP";
+
+    private static final String COPY_SQL = "COPY accounts_staging (id, name, balance, version) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_SQL = """
+            INSERT INTO accounts (id, name, balance, version)
+            SELECT id, name, balance, version FROM accounts_staging
+            ON CONFLICT (id) DO UPDATE
+            SET name = excluded.name, balance = excluded.balance, version = excluded.version
+            WHERE accounts.version < excluded.version
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountBulkLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public int load(Collection<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            var pgConnection = connection.unwrap(PGConnection.class);
+            try (var writer = new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(pgConnection, COPY_SQL), StandardCharsets.UTF_8))) {
+                for (var account : accounts) {
+                    writer.write(account.getAccountId().toString());
+                    writer.write(',');
+                    writeCsvString(writer, account.getAccountName());
+                    writer.write(',');
+                    writer.write(account.getBalance().getAmount().toPlainString());
+                    writer.write(',');
+                    writer.write(Integer.toString(account.getVersion()));
+                    writer.write('\n');
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+        return jdbcTemplate.update(MERGE_SQL);
+    }
+
+    private void writeCsvString(BufferedWriter writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
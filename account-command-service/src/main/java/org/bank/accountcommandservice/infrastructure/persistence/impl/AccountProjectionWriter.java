@@ -0,0 +1,38 @@
+package org.bank.accountcommandservice.infrastructure.persistence.impl;
+
+import org.bank.accountcommandservice.domain.model.Account;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+@Repository
+public class AccountProjectionWriter {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO accounts (id, name, balance, version)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE
+            SET name = excluded.name, balance = excluded.balance, version = excluded.version
+            WHERE accounts.version < excluded.version
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountProjectionWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsertAll(Collection<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(accounts), accounts.size(), (ps, account) -> {
+            ps.setObject(1, account.getAccountId());
+            ps.setString(2, account.getAccountName());
+            ps.setBigDecimal(3, account.getBalance().getAmount());
+            ps.setInt(4, account.getVersion());
+        });
+    }
+}
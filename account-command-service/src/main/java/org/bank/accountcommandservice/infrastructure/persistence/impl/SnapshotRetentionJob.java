@@ -0,0 +1,55 @@
+package org.bank.accountcommandservice.infrastructure.persistence.impl;
+
+import org.bank.accountcommandservice.infrastructure.persistence.repository.SnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class SnapshotRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotRetentionJob.class);
+
+    private final SnapshotRepository snapshotRepository;
+    private final SnapshotStoreImpl snapshotStore;
+    private final int retainedSnapshots;
+    private final int accountBatchSize;
+
+    public SnapshotRetentionJob(SnapshotRepository snapshotRepository,
+                                SnapshotStoreImpl snapshotStore,
+                                @Value("${app.snapshot.retention.keep:2}") int retainedSnapshots,
+                                @Value("${app.snapshot.retention.account-batch-size:1000}") int accountBatchSize) {
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotStore = snapshotStore;
+        this.retainedSnapshots = retainedSnapshots;
+        this.accountBatchSize = Math.max(1, accountBatchSize);
+    }
+
+    @Scheduled(initialDelayString = "${app.snapshot.retention.sweep-interval:1h}", fixedDelayString = "${app.snapshot.retention.sweep-interval:1h}")
+    public void pruneSnapshots() {
+        if (retainedSnapshots <= 0) {
+            return;
+        }
+
+        long deleted = 0;
+        var after = new UUID(0L, 0L);
+        List<UUID> accountIds;
+        do {
+            accountIds = snapshotRepository.findAccountIdsAfter(after, accountBatchSize);
+            if (accountIds.isEmpty()) {
+                break;
+            }
+            deleted += snapshotStore.pruneSnapshots(accountIds);
+            after = accountIds.getLast();
+        } while (accountIds.size() == accountBatchSize);
+
+        if (deleted > 0) {
+            log.info("Pruned {} account snapshots, keeping the latest {} per account", deleted, retainedSnapshots);
+        }
+    }
+}
@@ -5,32 +5,83 @@ package org.bank.accountcommandservice.infrastructure.persistence.impl;
 import org.bank.accountcommandservice.domain.model.AccountSnapshot;
 import org.bank.accountcommandservice.domain.model.Money;
 import org.bank.accountcommandservice.domain.repository.SnapshotStore;
-import org.bank.accountcommandservice.infrastructure.persistence.entity.SnapshotEntity;
 import org.bank.accountcommandservice.infrastructure.persistence.repository.SnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class SnapshotStoreImpl implements SnapshotStore {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO account_snapshots (id, account_id, name, balance, version, kafka_event_offset, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String PRUNE_SQL = """
+            DELETE FROM account_snapshots
+            WHERE account_id = ?
+              AND version < (
+                  SELECT min(version) FROM (
+                      SELECT version FROM account_snapshots
+                      WHERE account_id = ?
+                      ORDER BY version DESC
+                      LIMIT ?
+                  ) latest
+              )
+            """;
+
     private final SnapshotRepository snapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int retainedSnapshots;
 
-    public SnapshotStoreImpl(SnapshotRepository snapshotRepository) {
+    public SnapshotStoreImpl(SnapshotRepository snapshotRepository,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${app.snapshot.retention.keep:2}") int retainedSnapshots) {
         this.snapshotRepository = snapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retainedSnapshots = retainedSnapshots;
     }
 
     @Override
-    public void saveSnapshot(AccountSnapshot snapshot) {
-        SnapshotEntity entity = new SnapshotEntity(
-                snapshot.accountId(),
-                snapshot.accountName(),
-                snapshot.money().getAmount(),
-                snapshot.version(),
-                snapshot.offset()
-        );
-        snapshotRepository.save(entity);
+    @Transactional
+    public void saveSnapshots(List<AccountSnapshot> snapshots) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, snapshots, snapshots.size(), (ps, snapshot) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, snapshot.accountId());
+            ps.setString(3, snapshot.accountName());
+            ps.setBigDecimal(4, snapshot.money().getAmount());
+            ps.setInt(5, snapshot.version());
+            ps.setLong(6, snapshot.offset());
+            ps.setTimestamp(7, Timestamp.from(snapshot.createdAt()));
+        });
+
+        pruneSnapshots(snapshots.stream().map(AccountSnapshot::accountId).distinct().toList());
+    }
+
+    @Transactional
+    public int pruneSnapshots(List<UUID> accountIds) {
+        if (retainedSnapshots <= 0 || accountIds.isEmpty()) {
+            return 0;
+        }
+        var deleted = 0;
+        for (var batch : jdbcTemplate.batchUpdate(PRUNE_SQL, accountIds, accountIds.size(), (ps, accountId) -> {
+            ps.setObject(1, accountId);
+            ps.setObject(2, accountId);
+            ps.setInt(3, retainedSnapshots);
+        })) {
+            for (var count : batch) {
+                deleted += Math.max(0, count);
+            }
+        }
+        return deleted;
     }
 
     @Override
@@ -41,7 +92,9 @@ public class SnapshotStoreImpl implements SnapshotStore {
                         entity.getAccountName(),
                         new Money(entity.getBalance()),
                         entity.getVersion(),
-                        entity.getOffset()
+                        entity.getOffset(),
+                        // Rows written before created_at existed are treated as fresh.
+                        entity.getCreatedAt() != null ? entity.getCreatedAt() : Instant.now()
                 ));
     }
 }
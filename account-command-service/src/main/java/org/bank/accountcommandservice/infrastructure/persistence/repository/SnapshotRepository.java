@@ -2,10 +2,21 @@ package org.bank.accountcommandservice.infrastructure.persistence.repository;
 
 import org.bank.accountcommandservice.infrastructure.persistence.entity.SnapshotEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface SnapshotRepository extends JpaRepository<SnapshotEntity, UUID> {
     Optional<SnapshotEntity> findTopByAccountIdOrderByVersionDesc(UUID accountId);
+
+    @Query(value = """
+            SELECT DISTINCT account_id FROM account_snapshots
+            WHERE account_id > :after
+            ORDER BY account_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findAccountIdsAfter(@Param("after") UUID after, @Param("limit") int limit);
 }
@@ -1,62 +1,94 @@
 package org.bank.accountcommandservice.infrastructure.projector;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
-import org.bank.accountcommandservice.domain.event.BaseEvent;
-import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
-import org.bank.accountcommandservice.domain.event.MoneyWithdrawnEvent;
+import org.apache.kafka.common.TopicPartition;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
 import org.bank.accountcommandservice.domain.model.Account;
+import org.bank.accountcommandservice.domain.model.AccountSnapshot;
+import org.bank.accountcommandservice.domain.model.Money;
 import org.bank.accountcommandservice.domain.repository.EventStore;
-import org.bank.accountcommandservice.infrastructure.exception.AccountAlreadyExists;
 import org.bank.accountcommandservice.infrastructure.exception.ProjectionException;
 import org.bank.accountcommandservice.infrastructure.exception.ProjectionVersionMismatchException;
 import org.bank.accountcommandservice.infrastructure.exception.UnsupportedEventTypeException;
-import org.bank.accountcommandservice.infrastructure.persistence.entity.AccountEntity;
+import org.bank.accountcommandservice.infrastructure.persistence.impl.AccountProjectionWriter;
 import org.bank.accountcommandservice.infrastructure.persistence.repository.AccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-public class AccountProjector {
+public class AccountProjector implements ConsumerSeekAware {
+
+    public static final String GROUP_ID = "account-projector-strict-group";
 
     private final AccountRepository accountRepository;
+    private final AccountProjectionWriter projectionWriter;
     private final EventStore eventStore;
+    private final Map<Integer, Map<UUID, Account>> accountsByPartition = new ConcurrentHashMap<>();
 
     @Autowired
-    public AccountProjector(AccountRepository accountRepository, EventStore eventStore) {
+    public AccountProjector(AccountRepository accountRepository, AccountProjectionWriter projectionWriter, EventStore eventStore) {
         this.accountRepository = accountRepository;
+        this.projectionWriter = projectionWriter;
         this.eventStore = eventStore;
     }
 
-    @KafkaListener(topics = "${app.kafka.topic-name}", groupId = "account-projector-strict-group")
+    @KafkaListener(
+            id = "account-projector",
+            topics = "${app.kafka.topic-name}",
+            groupId = GROUP_ID,
+            batch = "true",
+            properties = "max.poll.records=${app.projector.max-poll-records:2000}"
+    )
     @Transactional
-    public void handleEvent(ConsumerRecord<String, Object> record) {
+    public void handleEvents(List<ConsumerRecord<String, Object>> records) {
+        Map<UUID, Account> changedAccounts = new LinkedHashMap<>();
+        clearStateOnRollback();
+
+        for (var record : records) {
+            handleEvent(record).ifPresent(account -> changedAccounts.put(account.getAccountId(), account));
+        }
+
+        projectionWriter.upsertAll(changedAccounts.values());
+    }
 
-        Object event = record.value();
+    private Optional<Account> handleEvent(ConsumerRecord<String, Object> record) {
+
+        Object value = record.value();
         String key = record.key();
         long offset = record.offset();
 
-        if (event == null) {
-            return;
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (!(value instanceof DomainEvent event)) {
+            throw new UnsupportedEventTypeException(String.format("Unsupported event type: %s. Cannot extract BaseEvent. Key: %s, Offset: %d",
+                    value.getClass().getName(), key, offset));
         }
 
-        var baseEvent = getBaseEvent(event).orElseThrow(() -> new UnsupportedEventTypeException(String.format("Unsupported event type: %s. Cannot extract BaseEvent. Key: %s, Offset: %d",
-                event.getClass().getName(), key, offset)));
+        var baseEvent = event.baseEvent();
 
         var accountId = baseEvent.accountId();
         int eventVersion = baseEvent.aggregateVersion();
 
 
         try {
-            processEvent(event, accountId, eventVersion, offset);
+            return processEvent(event, accountId, eventVersion, record.partition(), offset);
         }
-        catch (ProjectionVersionMismatchException | UnsupportedEventTypeException | AccountAlreadyExists e){
+        catch (ProjectionVersionMismatchException | UnsupportedEventTypeException e){
             throw e;
         }
         catch (Exception e) {
@@ -65,79 +97,77 @@ public class AccountProjector {
         }
     }
 
-    private void processEvent(Object event, UUID accountId, int eventVersion, long offset) {
-        var account = restoreAccountState(accountId, eventVersion);
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (var partition : assignments.keySet()) {
+            accountsByPartition.put(partition.partition(), new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        for (var partition : partitions) {
+            accountsByPartition.remove(partition.partition());
+        }
+    }
+
+    private Optional<Account> processEvent(DomainEvent event, UUID accountId, int eventVersion, int partition, long offset) {
+        var accounts = accountsByPartition.computeIfAbsent(partition, p -> new ConcurrentHashMap<>());
+        var account = accounts.get(accountId);
+        if (account == null || account.getVersion() < eventVersion) {
+            account = restoreAccountState(accountId, eventVersion);
+        }
+
+        if (account.getVersion() > eventVersion) {
+            accounts.put(accountId, account);
+            return Optional.empty();
+        }
 
         if (account.getVersion() != eventVersion) {
             throw new ProjectionVersionMismatchException(String.format("Version mismatch for accountId: %s. Expected: %d, got: %d. Event: %s, offset: %d",
                     accountId, eventVersion, account.getVersion(), event.getClass().getSimpleName(), offset));
         }
 
-        applyEvent(account, event);
+        accounts.put(accountId, account);
 
-        saveProjection(account, event.getClass().getSimpleName(), offset);
-    }
+        account.apply(event);
 
-    private Account restoreAccountState(UUID accountId, int targetVersion) {
-        if (targetVersion == 0) {
-            return Account.build(Collections.emptyList());
-        }
-        var history = eventStore.loadEventStreamUpToVersion(accountId, targetVersion);
-        return Account.build(history.events());
+        return Optional.of(account);
     }
 
-    private void applyEvent(Account account, Object event) {
-        switch (event) {
-            case AccountCreatedEvent e -> account.apply(e);
-            case MoneyDepositedEvent e -> account.apply(e);
-            case MoneyWithdrawnEvent e -> account.apply(e);
-            default -> throw new UnsupportedEventTypeException("Unknown event type: " + event.getClass().getName());
+    private void clearStateOnRollback() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
         }
-    }
-
-    private void saveProjection(Account account, String eventType, long offset) {
-        var accountId = account.getAccountId();
-
-        Optional<AccountEntity> existingEntityOpt = accountRepository.findById(accountId);
-        if (existingEntityOpt.isPresent()) {
-            AccountEntity existing = existingEntityOpt.get();
-            if (existing.getVersion() >= account.getVersion()) {
-                return;
-            }
-            updateEntity(existing, account);
-        } else {
-            if (account.getVersion() != 1) {
-                throw new AccountAlreadyExists(String.format("No projection found for accountId: %s with version: %d. Expected version 1. Event: %s, offset: %d",
-                        accountId, account.getVersion(), eventType, offset));
-
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    accountsByPartition.values().forEach(Map::clear);
+                }
             }
-            createEntity(account);
-        }
+        });
     }
 
-    private void updateEntity(AccountEntity entity, Account account) {
-        entity.setAccountName(account.getAccountName());
-        entity.setBalance(account.getBalance().getAmount());
-        entity.setVersion(account.getVersion());
-        accountRepository.save(entity);
-    }
+    private Account restoreAccountState(UUID accountId, int targetVersion) {
+        if (targetVersion == 0) {
+            return Account.build(Collections.emptyList());
+        }
 
-    private void createEntity(Account account) {
-        AccountEntity entity = new AccountEntity(
-                account.getAccountId(),
-                account.getAccountName(),
-                account.getBalance().getAmount(),
-                account.getVersion()
-        );
-        accountRepository.save(entity);
-    }
+        var projection = accountRepository.findById(accountId);
+        if (projection.isPresent() && projection.get().getVersion() >= targetVersion) {
+            var entity = projection.get();
+            return Account.loadSnapshot(new AccountSnapshot(
+                    entity.getAccountId(),
+                    entity.getAccountName(),
+                    new Money(entity.getBalance()),
+                    entity.getVersion(),
+                    -1L,
+                    null
+            ));
+        }
 
-    private Optional<BaseEvent> getBaseEvent(Object event) {
-        return switch (event) {
-            case AccountCreatedEvent e -> Optional.of(e.baseEvent());
-            case MoneyDepositedEvent e -> Optional.of(e.baseEvent());
-            case MoneyWithdrawnEvent e -> Optional.of(e.baseEvent());
-            default -> Optional.empty();
-        };
+        var history = eventStore.loadEventStreamUpToVersion(accountId, targetVersion);
+        return Account.build(history.events());
     }
-}
\ No newline at end of file
+}
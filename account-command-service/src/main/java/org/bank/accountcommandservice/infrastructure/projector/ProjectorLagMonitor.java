@@ -0,0 +1,123 @@
+package org.bank.accountcommandservice.infrastructure.projector;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsOptions;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ProjectorLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectorLagMonitor.class);
+
+    private static final Duration ADMIN_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final String topicName;
+    private final int numPartitions;
+    private final ObjectFactory<KafkaConsumer<String, byte[]>> consumerFactory;
+    private final AdminClient adminClient;
+    private final AtomicLong[] recordLag;
+    private final AtomicLong[] timeLag;
+
+    private KafkaConsumer<String, byte[]> consumer;
+
+    public ProjectorLagMonitor(
+            @Value("${app.kafka.topic-name}") String topicName,
+            @Value("${app.kafka.topic-partitions}") int numPartitions,
+            @Qualifier("replayKafkaConsumer") ObjectFactory<KafkaConsumer<String, byte[]>> consumerFactory,
+            KafkaAdmin kafkaAdmin,
+            MeterRegistry meterRegistry
+    ) {
+        this.topicName = topicName;
+        this.numPartitions = numPartitions;
+        this.consumerFactory = consumerFactory;
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        this.recordLag = new AtomicLong[numPartitions];
+        this.timeLag = new AtomicLong[numPartitions];
+        for (int partition = 0; partition < numPartitions; partition++) {
+            recordLag[partition] = new AtomicLong();
+            timeLag[partition] = new AtomicLong();
+            Gauge.builder("projector.lag.records", recordLag[partition], AtomicLong::get)
+                    .description("Records in the partition not yet projected")
+                    .tag("partition", Integer.toString(partition))
+                    .register(meterRegistry);
+            Gauge.builder("projector.lag.time", timeLag[partition], AtomicLong::get)
+                    .description("Age of the oldest record in the partition not yet projected")
+                    .tag("partition", Integer.toString(partition))
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.projector.lag.interval:10s}", fixedDelayString = "${app.projector.lag.interval:10s}")
+    public void sample() {
+        try {
+            Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+            Map<TopicPartition, OffsetSpec> earliest = new HashMap<>();
+            for (int partition = 0; partition < numPartitions; partition++) {
+                latest.put(new TopicPartition(topicName, partition), OffsetSpec.latest());
+                earliest.put(new TopicPartition(topicName, partition), OffsetSpec.earliest());
+            }
+            var endOffsets = adminClient.listOffsets(latest, new ListOffsetsOptions(IsolationLevel.READ_COMMITTED)).all().get(ADMIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            var startOffsets = adminClient.listOffsets(earliest).all().get(ADMIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            var committed = adminClient.listConsumerGroupOffsets(AccountProjector.GROUP_ID).partitionsToOffsetAndMetadata()
+                    .get(ADMIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+            for (var entry : endOffsets.entrySet()) {
+                var partition = entry.getKey();
+                var committedOffset = committed.get(partition);
+                var next = committedOffset != null ? committedOffset.offset() : startOffsets.get(partition).offset();
+                var lag = Math.max(0L, entry.getValue().offset() - next);
+                recordLag[partition.partition()].set(lag);
+                timeLag[partition.partition()].set(lag == 0 ? 0L : ageOfRecordAt(partition, next));
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (Exception e) {
+            log.warn("Could not sample projector lag for topic {}: {}", topicName, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (consumer != null) {
+            consumer.close();
+        }
+        adminClient.close(ADMIN_TIMEOUT);
+    }
+
+    private long ageOfRecordAt(TopicPartition partition, long offset) {
+        if (consumer == null) {
+            consumer = consumerFactory.getObject();
+        }
+        consumer.assign(List.of(partition));
+        consumer.seek(partition, offset);
+        for (var record : consumer.poll(POLL_TIMEOUT).records(partition)) {
+            return Math.max(0L, System.currentTimeMillis() - record.timestamp());
+        }
+        return timeLag[partition.partition()].get();
+    }
+}
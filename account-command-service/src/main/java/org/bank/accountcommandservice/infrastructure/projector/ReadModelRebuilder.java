@@ -0,0 +1,232 @@
+package org.bank.accountcommandservice.infrastructure.projector;
+
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.model.Account;
+import org.bank.accountcommandservice.infrastructure.exception.EventReplayException;
+import org.bank.accountcommandservice.infrastructure.exception.InconsistentEventStreamException;
+import org.bank.accountcommandservice.infrastructure.exception.ReadModelRebuildInProgressException;
+import org.bank.accountcommandservice.infrastructure.exception.UnsupportedEventTypeException;
+import org.bank.accountcommandservice.infrastructure.persistence.impl.AccountBulkLoader;
+import org.bank.accountcommandservice.infrastructure.serialization.AccountEventDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+@Service
+public class ReadModelRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadModelRebuilder.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final String topicName;
+    private final int numPartitions;
+    private final boolean rebuildOnStartup;
+    private final Duration replayTimeout;
+    private final ObjectFactory<KafkaConsumer<String, byte[]>> consumerFactory;
+    private final AccountEventDeserializer eventDeserializer;
+    private final AccountBulkLoader bulkLoader;
+
+    private volatile Rebuild current;
+
+    public ReadModelRebuilder(
+            @Value("${app.kafka.topic-name}") String topicName,
+            @Value("${app.kafka.topic-partitions}") int numPartitions,
+            @Value("${app.read-model.rebuild-on-startup:false}") boolean rebuildOnStartup,
+            @Value("${app.kafka.replay-timeout:30s}") Duration replayTimeout,
+            @Qualifier("replayKafkaConsumer") ObjectFactory<KafkaConsumer<String, byte[]>> consumerFactory,
+            AccountEventDeserializer eventDeserializer,
+            AccountBulkLoader bulkLoader
+    ) {
+        this.topicName = topicName;
+        this.numPartitions = numPartitions;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.replayTimeout = replayTimeout;
+        this.consumerFactory = consumerFactory;
+        this.eventDeserializer = eventDeserializer;
+        this.bulkLoader = bulkLoader;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            start();
+        }
+    }
+
+    public synchronized RebuildStatus start() {
+        if (current != null && current.isRunning()) {
+            throw new ReadModelRebuildInProgressException("Read model rebuild started at " + current.startedAt + " is still running");
+        }
+
+        var rebuild = new Rebuild(numPartitions);
+        current = rebuild;
+        log.info("Starting read model rebuild of topic {} with {} partitions", topicName, numPartitions);
+
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        var workers = new CompletableFuture<?>[numPartitions];
+        for (int partition = 0; partition < numPartitions; partition++) {
+            var progress = rebuild.partitions.get(partition);
+            workers[partition] = CompletableFuture.runAsync(() -> rebuildPartition(progress), executor);
+        }
+        CompletableFuture.allOf(workers).whenComplete((ignored, error) -> {
+            rebuild.finishedAt = Instant.now();
+            executor.shutdown();
+            log.info("Read model rebuild finished in {} ms: {}", Duration.between(rebuild.startedAt, rebuild.finishedAt).toMillis(),
+                    error == null ? "all partitions loaded" : "some partitions failed");
+        });
+
+        return rebuild.status();
+    }
+
+    public RebuildStatus status() {
+        var rebuild = current;
+        return rebuild == null ? null : rebuild.status();
+    }
+
+    private void rebuildPartition(PartitionProgress progress) {
+        progress.state = PartitionState.READING;
+        try (var consumer = consumerFactory.getObject()) {
+            var partition = new TopicPartition(topicName, progress.partition);
+            consumer.assign(List.of(partition));
+            consumer.seekToBeginning(List.of(partition));
+            var endOffset = consumer.endOffsets(List.of(partition), replayTimeout).get(partition);
+            if (endOffset == null) {
+                throw new EventReplayException("Could not fetch end offset of partition " + progress.partition);
+            }
+            progress.endOffset = endOffset;
+
+            Map<UUID, Account> accounts = new HashMap<>();
+            var position = consumer.position(partition, replayTimeout);
+            var lastProgressAt = System.nanoTime();
+            while (position < progress.endOffset) {
+                for (var record : consumer.poll(POLL_TIMEOUT).records(partition)) {
+                    if (record.offset() >= progress.endOffset) {
+                        break;
+                    }
+                    if (record.value() != null) {
+                        fold(accounts, eventDeserializer.deserialize(record.topic(), record.headers(), record.value()), record.offset());
+                        progress.eventsRead++;
+                    }
+                }
+                var nextPosition = consumer.position(partition, replayTimeout);
+                if (nextPosition > position) {
+                    lastProgressAt = System.nanoTime();
+                }
+                else if (System.nanoTime() - lastProgressAt > replayTimeout.toNanos()) {
+                    throw new EventReplayException(String.format("No progress reading partition %d for %s, stopped at offset %d of %d",
+                            progress.partition, replayTimeout, position, progress.endOffset));
+                }
+                position = nextPosition;
+                progress.position = Math.min(position, progress.endOffset);
+                progress.accounts = accounts.size();
+            }
+
+            progress.state = PartitionState.LOADING;
+            progress.rowsLoaded = bulkLoader.load(accounts.values());
+            progress.state = PartitionState.DONE;
+            log.info("Rebuilt partition {}: {} events, {} accounts, {} rows written", progress.partition,
+                    progress.eventsRead, progress.accounts, progress.rowsLoaded);
+        }
+        catch (RuntimeException e) {
+            progress.state = PartitionState.FAILED;
+            progress.error = e.getMessage();
+            log.error("Read model rebuild of partition {} failed at offset {}: {}", progress.partition, progress.position, e.getMessage());
+            throw e;
+        }
+    }
+
+    private void fold(Map<UUID, Account> accounts, Object value, long offset) {
+        if (!(value instanceof DomainEvent event)) {
+            throw new UnsupportedEventTypeException("Unknown event type at offset " + offset + ": " + value.getClass().getName());
+        }
+
+        var accountId = event.baseEvent().accountId();
+        var version = event.baseEvent().aggregateVersion();
+        var account = accounts.get(accountId);
+        if (account == null) {
+            account = Account.build(Collections.emptyList());
+        }
+
+        if (version < account.getVersion()) {
+            return;
+        }
+        if (version != account.getVersion()) {
+            throw new InconsistentEventStreamException(String.format("Inconsistent event stream for accountId %s: expected version %d, got %d at offset %d.",
+                    accountId, account.getVersion(), version, offset));
+        }
+
+        account.apply(event);
+        accounts.putIfAbsent(accountId, account);
+    }
+
+    public enum PartitionState {
+        PENDING, READING, LOADING, DONE, FAILED
+    }
+
+    public record PartitionStatus(int partition, PartitionState state, long position, long endOffset,
+                                  long eventsRead, int accounts, int rowsLoaded, String error) {
+    }
+
+    public record RebuildStatus(Instant startedAt, Instant finishedAt, List<PartitionStatus> partitions) {
+    }
+
+    private static final class Rebuild {
+        private final Instant startedAt = Instant.now();
+        private final List<PartitionProgress> partitions;
+        private volatile Instant finishedAt;
+
+        private Rebuild(int numPartitions) {
+            List<PartitionProgress> progress = new ArrayList<>(numPartitions);
+            for (int partition = 0; partition < numPartitions; partition++) {
+                progress.add(new PartitionProgress(partition));
+            }
+            this.partitions = List.copyOf(progress);
+        }
+
+        private boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        private RebuildStatus status() {
+            return new RebuildStatus(startedAt, finishedAt, partitions.stream().map(PartitionProgress::status).toList());
+        }
+    }
+
+    private static final class PartitionProgress {
+        private final int partition;
+        private volatile PartitionState state = PartitionState.PENDING;
+        private volatile long position;
+        private volatile long endOffset = -1L;
+        private volatile long eventsRead;
+        private volatile int accounts;
+        private volatile int rowsLoaded;
+        private volatile String error;
+
+        private PartitionProgress(int partition) {
+            this.partition = partition;
+        }
+
+        private PartitionStatus status() {
+            return new PartitionStatus(partition, state, position, endOffset, eventsRead, accounts, rowsLoaded, error);
+        }
+    }
+}
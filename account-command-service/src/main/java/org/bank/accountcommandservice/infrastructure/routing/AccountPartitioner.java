@@ -0,0 +1,27 @@
+package org.bank.accountcommandservice.infrastructure.routing;
+
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+@Component
+public class AccountPartitioner {
+
+    private final int numPartitions;
+
+    public AccountPartitioner(@Value("${app.kafka.topic-partitions}") int numPartitions) {
+        this.numPartitions = numPartitions;
+    }
+
+    public int partitionFor(UUID accountId) {
+        var keyBytes = accountId.toString().getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(keyBytes)) % numPartitions;
+    }
+
+    public int numPartitions() {
+        return numPartitions;
+    }
+}
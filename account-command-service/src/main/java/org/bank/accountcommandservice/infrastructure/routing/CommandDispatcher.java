@@ -0,0 +1,97 @@
+package org.bank.accountcommandservice.infrastructure.routing;
+
+import jakarta.annotation.PreDestroy;
+import org.bank.accountcommandservice.application.AccountApplicationService;
+import org.bank.accountcommandservice.application.AccountBatchHandler;
+import org.bank.accountcommandservice.application.AccountLocks;
+import org.bank.accountcommandservice.application.CommandResult;
+import org.bank.accountcommandservice.domain.command.MoneyCommand;
+import org.bank.accountcommandservice.domain.command.MoneyDepositCommand;
+import org.bank.accountcommandservice.domain.command.MoneyWithdrawCommand;
+import org.bank.accountcommandservice.domain.exception.InvalidAccountOperationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+@Component
+public class CommandDispatcher {
+
+    private final AccountApplicationService accountApplicationService;
+    private final AccountLocks accountLocks;
+    private final AccountPartitioner partitioner;
+    private final InFlightLimiter inFlightLimiter;
+    private final Optional<PartitionCommandRouter> partitionCommandRouter;
+    private final ExecutorService commandExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CommandDispatcher(AccountApplicationService accountApplicationService,
+                             AccountLocks accountLocks,
+                             AccountPartitioner partitioner,
+                             InFlightLimiter inFlightLimiter,
+                             Optional<PartitionCommandRouter> partitionCommandRouter) {
+        this.accountApplicationService = accountApplicationService;
+        this.accountLocks = accountLocks;
+        this.partitioner = partitioner;
+        this.inFlightLimiter = inFlightLimiter;
+        this.partitionCommandRouter = partitionCommandRouter;
+    }
+
+    public CompletableFuture<ResponseEntity<String>> dispatch(MoneyCommand command, String path, boolean forwarded) {
+        if (command.accountId() == null) {
+            throw new InvalidAccountOperationException("Command must have an accountId");
+        }
+        var partition = partitioner.partitionFor(command.accountId());
+        inFlightLimiter.acquire(partition);
+
+        CompletableFuture<ResponseEntity<String>> result;
+        try {
+            result = partitionCommandRouter.isPresent()
+                    ? partitionCommandRouter.get().route(command, path, forwarded)
+                    : CompletableFuture.supplyAsync(() -> apply(command), commandExecutor).thenCompose(Function.identity());
+        }
+        catch (RuntimeException e) {
+            inFlightLimiter.release(partition);
+            throw e;
+        }
+
+        return result
+                .whenComplete((response, error) -> inFlightLimiter.release(partition))
+                .exceptionallyCompose(error -> CompletableFuture.failedFuture(
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+    }
+
+    public List<CommandResult> dispatchBatch(List<MoneyCommand> commands, String path, boolean forwarded) {
+        AccountBatchHandler handler = partitionCommandRouter.isPresent()
+                ? (accountId, accountCommands) -> partitionCommandRouter.get().routeBatch(accountId, accountCommands, path, forwarded)
+                : accountApplicationService::applyAccountBatch;
+
+        return accountApplicationService.accountBatch(commands, (accountId, accountCommands) -> {
+            var partition = partitioner.partitionFor(accountId);
+            inFlightLimiter.acquire(partition);
+            try {
+                return handler.apply(accountId, accountCommands);
+            }
+            finally {
+                inFlightLimiter.release(partition);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        commandExecutor.close();
+    }
+
+    private CompletableFuture<ResponseEntity<String>> apply(MoneyCommand command) {
+        return accountLocks.withLockAsync(command.accountId(), () -> switch (command) {
+            case MoneyDepositCommand deposit -> accountApplicationService.accountDeposit(deposit);
+            case MoneyWithdrawCommand withdraw -> accountApplicationService.accountWithdraw(withdraw);
+        }).thenApply(ignored -> ResponseEntity.ok().build());
+    }
+}
@@ -0,0 +1,70 @@
+package org.bank.accountcommandservice.infrastructure.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bank.accountcommandservice.infrastructure.exception.CommandCapacityExceededException;
+import org.bank.accountcommandservice.infrastructure.exception.PartitionBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+@Component
+public class InFlightLimiter {
+
+    private final Semaphore[] partitionPermits;
+    private final Semaphore instancePermits;
+    private final Counter partitionRejections;
+    private final Counter instanceRejections;
+
+    public InFlightLimiter(AccountPartitioner partitioner,
+                           @Value("${app.command.in-flight.per-partition:256}") int perPartition,
+                           @Value("${app.command.in-flight.max:2048}") int max,
+                           MeterRegistry meterRegistry) {
+        this.partitionPermits = new Semaphore[partitioner.numPartitions()];
+        for (int partition = 0; partition < partitionPermits.length; partition++) {
+            partitionPermits[partition] = perPartition > 0 ? new Semaphore(perPartition) : null;
+        }
+        this.instancePermits = max > 0 ? new Semaphore(max) : null;
+
+        this.partitionRejections = Counter.builder("command.in-flight.rejected")
+                .description("Commands rejected because a limit on commands in flight was reached")
+                .tag("limit", "partition")
+                .register(meterRegistry);
+        this.instanceRejections = Counter.builder("command.in-flight.rejected")
+                .description("Commands rejected because a limit on commands in flight was reached")
+                .tag("limit", "instance")
+                .register(meterRegistry);
+        if (instancePermits != null) {
+            Gauge.builder("command.in-flight", instancePermits, permits -> max - permits.availablePermits())
+                    .description("Commands currently in flight on this instance")
+                    .register(meterRegistry);
+        }
+    }
+
+    public void acquire(int partition) {
+        var permits = partitionPermits[partition];
+        if (permits != null && !permits.tryAcquire()) {
+            partitionRejections.increment();
+            throw new PartitionBusyException("Too many commands in flight for partition " + partition);
+        }
+        if (instancePermits != null && !instancePermits.tryAcquire()) {
+            if (permits != null) {
+                permits.release();
+            }
+            instanceRejections.increment();
+            throw new CommandCapacityExceededException("Too many commands in flight on this instance");
+        }
+    }
+
+    public void release(int partition) {
+        if (instancePermits != null) {
+            instancePermits.release();
+        }
+        var permits = partitionPermits[partition];
+        if (permits != null) {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.bank.accountcommandservice.infrastructure.routing;
+
+import jakarta.annotation.PreDestroy;
+import org.bank.accountcommandservice.application.CommandResult;
+import org.bank.accountcommandservice.application.PartitionCommandExecutor;
+import org.bank.accountcommandservice.domain.command.MoneyCommand;
+import org.bank.accountcommandservice.domain.command.MoneyDepositCommand;
+import org.bank.accountcommandservice.infrastructure.exception.PartitionNotOwnedException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+@ConditionalOnProperty(name = "app.command.partition-affinity.enabled", havingValue = "true")
+public class PartitionCommandRouter {
+
+    public static final String FORWARDED_HEADER = "X-Command-Forwarded";
+
+    private final AccountPartitioner partitioner;
+    private final PartitionOwnership ownership;
+    private final PartitionCommandExecutor commandExecutor;
+    private final RestClient restClient;
+    private final ExecutorService forwardExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PartitionCommandRouter(AccountPartitioner partitioner, PartitionOwnership ownership, PartitionCommandExecutor commandExecutor,
+                                  RestClient.Builder restClientBuilder) {
+        this.partitioner = partitioner;
+        this.ownership = ownership;
+        this.commandExecutor = commandExecutor;
+        this.restClient = restClientBuilder.build();
+    }
+
+    public CompletableFuture<ResponseEntity<String>> route(MoneyCommand command, String path, boolean forwarded) {
+        var partition = partitioner.partitionFor(command.accountId());
+        if (commandExecutor.owns(partition)) {
+            return commandExecutor.execute(partition, command).thenApply(version -> ResponseEntity.ok().build());
+        }
+
+        if (forwarded) {
+            return CompletableFuture.failedFuture(new PartitionNotOwnedException("Partition " + partition + " is not owned by this instance"));
+        }
+        var owner = ownership.ownerOf(partition);
+        if (owner.isEmpty()) {
+            return CompletableFuture.failedFuture(new PartitionNotOwnedException("No owner is known for partition " + partition));
+        }
+        return CompletableFuture.supplyAsync(() -> forward(owner.get(), partition, path, command), forwardExecutor);
+    }
+
+    public List<CommandResult> routeBatch(UUID accountId, List<MoneyCommand> commands, String path, boolean forwarded) {
+        var partition = partitioner.partitionFor(accountId);
+        if (commandExecutor.owns(partition)) {
+            try {
+                return commandExecutor.executeBatch(partition, accountId, commands).join();
+            }
+            catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        if (forwarded) {
+            throw new PartitionNotOwnedException("Partition " + partition + " is not owned by this instance");
+        }
+        var owner = ownership.ownerOf(partition)
+                .orElseThrow(() -> new PartitionNotOwnedException("No owner is known for partition " + partition));
+        return forwardBatch(owner, partition, path, commands);
+    }
+
+    @PreDestroy
+    public void stop() {
+        forwardExecutor.close();
+    }
+
+    private ResponseEntity<String> forward(URI owner, int partition, String path, MoneyCommand command) {
+        try {
+            return restClient.post()
+                    .uri(owner.resolve(path))
+                    .header(FORWARDED_HEADER, "true")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(command)
+                    .exchange((request, response) -> ResponseEntity.status(response.getStatusCode())
+                            .body(new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8)));
+        }
+        catch (ResourceAccessException e) {
+            throw new PartitionNotOwnedException("Owner " + owner + " of partition " + partition + " is unreachable: " + e.getMessage());
+        }
+    }
+
+    private List<CommandResult> forwardBatch(URI owner, int partition, String path, List<MoneyCommand> commands) {
+        var body = commands.stream()
+                .map(command -> Map.of(
+                        "type", command instanceof MoneyDepositCommand ? "DEPOSIT" : "WITHDRAW",
+                        "accountId", command.accountId(),
+                        "money", command.money()))
+                .toList();
+        try {
+            return restClient.post()
+                    .uri(owner.resolve(path))
+                    .header(FORWARDED_HEADER, "true")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<CommandResult>>() {
+                    });
+        }
+        catch (ResourceAccessException e) {
+            throw new PartitionNotOwnedException("Owner " + owner + " of partition " + partition + " is unreachable: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.bank.accountcommandservice.infrastructure.routing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.bank.accountcommandservice.application.PartitionCommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "app.command.partition-affinity.enabled", havingValue = "true")
+public class PartitionOwnership {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionOwnership.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final String topicName;
+    private final String groupId;
+    private final int forwardPort;
+    private final Duration ownerRefreshInterval;
+    private final PartitionCommandExecutor commandExecutor;
+    private final KafkaConsumer<byte[], byte[]> consumer;
+    private final AdminClient adminClient;
+
+    private volatile Map<Integer, URI> ownersByPartition = Map.of();
+    private volatile boolean ownersStale = true;
+    private long nextOwnerRefresh;
+    private volatile boolean running;
+    private Thread memberThread;
+
+    public PartitionOwnership(
+            @Value("${app.kafka.topic-name}") String topicName,
+            @Value("${app.command.partition-affinity.group-id:account-command-owners}") String groupId,
+            @Value("${app.command.partition-affinity.forward-port:${server.port:8080}}") int forwardPort,
+            @Value("${app.command.partition-affinity.owner-refresh:5s}") Duration ownerRefreshInterval,
+            PartitionCommandExecutor commandExecutor,
+            ConsumerFactory<String, Object> consumerFactory,
+            KafkaAdmin kafkaAdmin
+    ) {
+        this.topicName = topicName;
+        this.groupId = groupId;
+        this.forwardPort = forwardPort;
+        this.ownerRefreshInterval = ownerRefreshInterval;
+        this.commandExecutor = commandExecutor;
+
+        Map<String, Object> props = new HashMap<>(consumerFactory.getConfigurationProperties());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        this.consumer = new KafkaConsumer<>(props);
+        this.adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        memberThread = Thread.ofVirtual().name("partition-ownership").start(this::runMember);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        consumer.wakeup();
+        if (memberThread != null) {
+            memberThread.join(Duration.ofSeconds(30));
+        }
+        adminClient.close(Duration.ofSeconds(5));
+    }
+
+    public Optional<URI> ownerOf(int partition) {
+        var owner = ownersByPartition.get(partition);
+        if (owner == null) {
+            ownersStale = true;
+        }
+        return Optional.ofNullable(owner);
+    }
+
+    private void runMember() {
+        try {
+            consumer.subscribe(List.of(topicName), new OwnershipListener());
+            while (running) {
+                consumer.poll(POLL_TIMEOUT);
+                if (ownersStale || System.nanoTime() - nextOwnerRefresh >= 0) {
+                    refreshOwners();
+                }
+            }
+        }
+        catch (WakeupException e) {
+            if (running) {
+                throw e;
+            }
+        }
+        finally {
+            consumer.close();
+        }
+    }
+
+    private void refreshOwners() {
+        ownersStale = false;
+        nextOwnerRefresh = System.nanoTime() + ownerRefreshInterval.toNanos();
+        try {
+            var group = adminClient.describeConsumerGroups(List.of(groupId)).describedGroups().get(groupId)
+                    .get(ownerRefreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+            Map<Integer, URI> owners = new HashMap<>();
+            for (var member : group.members()) {
+                var host = member.host().startsWith("/") ? member.host().substring(1) : member.host();
+                for (var partition : member.assignment().topicPartitions()) {
+                    if (partition.topic().equals(topicName)) {
+                        owners.put(partition.partition(), URI.create("http://" + host + ":" + forwardPort));
+                    }
+                }
+            }
+            ownersByPartition = Map.copyOf(owners);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (Exception e) {
+            log.warn("Could not describe consumer group {}: {}", groupId, e.getMessage());
+        }
+    }
+
+    private static List<Integer> partitionNumbers(Collection<TopicPartition> partitions) {
+        return partitions.stream().map(TopicPartition::partition).sorted().toList();
+    }
+
+    private final class OwnershipListener implements ConsumerRebalanceListener {
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            consumer.pause(partitions);
+            commandExecutor.assign(partitionNumbers(partitions));
+            ownersStale = true;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            commandExecutor.release(partitionNumbers(partitions));
+            ownersStale = true;
+        }
+    }
+}
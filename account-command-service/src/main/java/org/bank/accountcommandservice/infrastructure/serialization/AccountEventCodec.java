@@ -0,0 +1,189 @@
+package org.bank.accountcommandservice.infrastructure.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
+import org.bank.accountcommandservice.domain.event.BaseEvent;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
+import org.bank.accountcommandservice.domain.event.MoneyWithdrawnEvent;
+import org.bank.accountcommandservice.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+public final class AccountEventCodec {
+
+    public static final byte MAGIC = (byte) 0xAE;
+
+    public static final byte ACCOUNT_CREATED = 1;
+    public static final byte MONEY_DEPOSITED = 2;
+    public static final byte MONEY_WITHDRAWN = 3;
+
+    public static final byte SCHEMA_VERSION = 1;
+
+    private static final int HEADER_SIZE = 3;
+    private static final int BASE_EVENT_SIZE = 16 + 16 + 8 + 4 + 4;
+
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    public byte[] encode(DomainEvent event) {
+        return switch (event) {
+            case AccountCreatedEvent e -> {
+                var name = e.accountHolderName() == null ? null : e.accountHolderName().getBytes(StandardCharsets.UTF_8);
+                var money = moneyBytes(e.initMoney());
+                var buffer = allocate(ACCOUNT_CREATED, 4 + (name == null ? 0 : name.length) + moneySize(money));
+                writeBaseEvent(buffer, e.baseEvent());
+                writeBytes(buffer, name);
+                writeMoney(buffer, e.initMoney(), money);
+                yield buffer.array();
+            }
+            case MoneyDepositedEvent e -> {
+                var money = moneyBytes(e.amountDeposited());
+                var buffer = allocate(MONEY_DEPOSITED, moneySize(money));
+                writeBaseEvent(buffer, e.baseEvent());
+                writeMoney(buffer, e.amountDeposited(), money);
+                yield buffer.array();
+            }
+            case MoneyWithdrawnEvent e -> {
+                var money = moneyBytes(e.amountWithdrawn());
+                var buffer = allocate(MONEY_WITHDRAWN, moneySize(money));
+                writeBaseEvent(buffer, e.baseEvent());
+                writeMoney(buffer, e.amountWithdrawn(), money);
+                yield buffer.array();
+            }
+        };
+    }
+
+    public DomainEvent decode(byte[] data) {
+        if (!isEncoded(data)) {
+            throw new SerializationException("Value is not a binary account event");
+        }
+
+        var buffer = ByteBuffer.wrap(data);
+        buffer.get();
+        byte type = buffer.get();
+        byte schemaVersion = buffer.get();
+        if (schemaVersion != SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported schema version " + schemaVersion + " for event type " + type);
+        }
+
+        try {
+            var baseEvent = readBaseEvent(buffer);
+            return switch (type) {
+                case ACCOUNT_CREATED -> new AccountCreatedEvent(baseEvent, readString(buffer), readMoney(buffer));
+                case MONEY_DEPOSITED -> new MoneyDepositedEvent(baseEvent, readMoney(buffer));
+                case MONEY_WITHDRAWN -> new MoneyWithdrawnEvent(baseEvent, readMoney(buffer));
+                default -> throw new SerializationException("Unknown event type tag: " + type);
+            };
+        }
+        catch (BufferUnderflowException e) {
+            throw new SerializationException("Truncated binary event of type " + type);
+        }
+    }
+
+    private ByteBuffer allocate(byte type, int bodySize) {
+        var buffer = ByteBuffer.allocate(HEADER_SIZE + BASE_EVENT_SIZE + bodySize);
+        buffer.put(MAGIC);
+        buffer.put(type);
+        buffer.put(SCHEMA_VERSION);
+        return buffer;
+    }
+
+    private void writeBaseEvent(ByteBuffer buffer, BaseEvent baseEvent) {
+        writeUuid(buffer, baseEvent.eventUUID());
+        writeUuid(buffer, baseEvent.accountId());
+        buffer.putLong(baseEvent.timestamp().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(baseEvent.timestamp().getNano());
+        buffer.putInt(baseEvent.aggregateVersion());
+    }
+
+    private BaseEvent readBaseEvent(ByteBuffer buffer) {
+        var eventId = readUuid(buffer);
+        var accountId = readUuid(buffer);
+        var timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        return new BaseEvent(eventId, accountId, timestamp, buffer.getInt());
+    }
+
+    private void writeUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private void writeBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        checkLength(buffer, length);
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte[] moneyBytes(Money money) {
+        return money.amount().unscaledValue().toByteArray();
+    }
+
+    private int moneySize(byte[] unscaled) {
+        return 4 + 4 + unscaled.length;
+    }
+
+    private void writeMoney(ByteBuffer buffer, Money money, byte[] unscaled) {
+        buffer.putInt(money.amount().scale());
+        writeBytes(buffer, unscaled);
+    }
+
+    private Money readMoney(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        int length = buffer.getInt();
+        if (length == 0) {
+            throw new SerializationException("Money amount has no bytes");
+        }
+        checkLength(buffer, length);
+        if (scale == Money.SCALE && length > 0 && length <= Long.BYTES) {
+            long units = buffer.get();
+            for (int i = 1; i < length; i++) {
+                units = (units << 8) | (buffer.get() & 0xFF);
+            }
+            if (units < 0) {
+                throw new SerializationException("Negative money amount of " + units + " units");
+            }
+            return Money.ofUnits(units);
+        }
+
+        var unscaled = new byte[length];
+        buffer.get(unscaled);
+        var amount = new BigDecimal(new BigInteger(unscaled), scale);
+        if (amount.signum() < 0) {
+            throw new SerializationException("Negative money amount " + amount);
+        }
+        return new Money(amount);
+    }
+
+    private void checkLength(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new SerializationException("Invalid field length " + length + " with " + buffer.remaining() + " bytes remaining");
+        }
+    }
+}
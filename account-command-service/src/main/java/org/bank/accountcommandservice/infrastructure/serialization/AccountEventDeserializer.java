@@ -0,0 +1,45 @@
+package org.bank.accountcommandservice.infrastructure.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+public class AccountEventDeserializer implements Deserializer<Object> {
+
+    private final AccountEventCodec codec = new AccountEventCodec();
+    private final JsonDeserializer<Object> legacyDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        legacyDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (AccountEventCodec.isEncoded(data)) {
+            return codec.decode(data);
+        }
+        return legacyDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (AccountEventCodec.isEncoded(data)) {
+            return codec.decode(data);
+        }
+        return legacyDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        legacyDeserializer.close();
+    }
+}
@@ -0,0 +1,21 @@
+package org.bank.accountcommandservice.infrastructure.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+
+public class AccountEventSerializer implements Serializer<Object> {
+
+    private final AccountEventCodec codec = new AccountEventCodec();
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (!(data instanceof DomainEvent event)) {
+            throw new SerializationException("Unsupported event type: " + data.getClass().getName());
+        }
+        return codec.encode(event);
+    }
+}
@@ -0,0 +1,36 @@
+package org.bank.accountcommandservice.infrastructure.serialization;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+public final class EventHeaders {
+
+    public static final String ACCOUNT_ID = "account-id";
+    public static final String AGGREGATE_VERSION = "aggregate-version";
+
+    public static final int NO_VERSION = -1;
+
+    private EventHeaders() {
+    }
+
+    public static List<Header> of(UUID accountId, int aggregateVersion) {
+        return List.of(
+                new RecordHeader(ACCOUNT_ID, accountId.toString().getBytes(StandardCharsets.UTF_8)),
+                new RecordHeader(AGGREGATE_VERSION, ByteBuffer.allocate(Integer.BYTES).putInt(aggregateVersion).array())
+        );
+    }
+
+    public static int aggregateVersion(Headers headers) {
+        var header = headers.lastHeader(AGGREGATE_VERSION);
+        if (header == null || header.value() == null || header.value().length != Integer.BYTES) {
+            return NO_VERSION;
+        }
+        return ByteBuffer.wrap(header.value()).getInt();
+    }
+}
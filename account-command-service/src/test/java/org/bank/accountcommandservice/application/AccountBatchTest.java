@@ -0,0 +1,257 @@
+package org.bank.accountcommandservice.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.bank.accountcommandservice.domain.command.AccountCreateCommand;
+import org.bank.accountcommandservice.domain.command.MoneyCommand;
+import org.bank.accountcommandservice.domain.command.MoneyDepositCommand;
+import org.bank.accountcommandservice.domain.command.MoneyWithdrawCommand;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.model.AccountSnapshot;
+import org.bank.accountcommandservice.domain.model.EventStream;
+import org.bank.accountcommandservice.domain.model.Money;
+import org.bank.accountcommandservice.domain.repository.EventStore;
+import org.bank.accountcommandservice.domain.repository.SnapshotStore;
+import org.bank.accountcommandservice.infrastructure.exception.EventPersistenceException;
+import org.bank.accountcommandservice.infrastructure.exception.EventVersionConflictException;
+import org.bank.accountcommandservice.infrastructure.routing.AccountPartitioner;
+import org.bank.accountcommandservice.infrastructure.routing.CommandDispatcher;
+import org.bank.accountcommandservice.infrastructure.routing.InFlightLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class AccountBatchTest {
+
+    private InMemoryEventStore eventStore;
+    private AccountApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+        eventStore = new InMemoryEventStore();
+        SnapshotStore snapshotStore = new NoSnapshotStore();
+        var meterRegistry = new SimpleMeterRegistry();
+        service = new AccountApplicationService(
+                eventStore,
+                snapshotStore,
+                new SnapshotWriter(snapshotStore, 16, 16, meterRegistry),
+                (account, context) -> false,
+                new AccountCache(100, Duration.ofMinutes(5)),
+                new AccountLocks(16),
+                new CommandMetrics(meterRegistry, ObservationRegistry.NOOP),
+                100,
+                4
+        );
+    }
+
+    @Test
+    void rejectsOnlyTheOverdraftAndKeepsApplyingTheRest() {
+        var accountId = createAccount();
+
+        var results = service.accountBatch(List.of(
+                deposit(accountId, "10.00"),
+                withdraw(accountId, "25.00"),
+                withdraw(accountId, "4.00")
+        ));
+
+        assertThat(results).extracting(CommandResult::status)
+                .containsExactly(CommandResult.Status.APPLIED, CommandResult.Status.REJECTED, CommandResult.Status.APPLIED);
+        assertThat(results.get(0).version()).isEqualTo(2);
+        assertThat(results.get(2).version()).isEqualTo(3);
+        assertThat(eventStore.events(accountId)).hasSize(3);
+    }
+
+    @Test
+    void marksAppliedCommandsFailedWhenTheAppendFails() {
+        var accountId = createAccount();
+        eventStore.failingAccounts.add(accountId);
+
+        var results = service.accountBatch(List.of(
+                deposit(accountId, "10.00"),
+                withdraw(accountId, "25.00")
+        ));
+
+        assertThat(results).extracting(CommandResult::status)
+                .containsExactly(CommandResult.Status.FAILED, CommandResult.Status.REJECTED);
+        assertThat(results.get(0).error()).contains("append failed");
+        assertThat(eventStore.events(accountId)).hasSize(1);
+    }
+
+    @Test
+    void rejectsCommandsForUnknownAccountsAndInvalidEntries() {
+        var unknown = UUID.randomUUID();
+
+        var results = service.accountBatch(Arrays.asList(
+                deposit(unknown, "1.00"),
+                null,
+                new MoneyDepositCommand(unknown, null)
+        ));
+
+        assertThat(results).extracting(CommandResult::status).containsOnly(CommandResult.Status.REJECTED);
+        assertThat(results.get(0).error()).contains("Account not found");
+        assertThat(results.get(0).accountId()).isEqualTo(unknown);
+    }
+
+    @Test
+    void groupsByAccountAndKeepsOrderWithinEachAccount() {
+        var first = createAccount();
+        var second = createAccount();
+
+        var results = service.accountBatch(List.of(
+                deposit(first, "5.00"),
+                deposit(second, "7.00"),
+                withdraw(first, "5.00"),
+                withdraw(second, "8.00"),
+                deposit(first, "1.00")
+        ));
+
+        assertThat(results).extracting(CommandResult::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(CommandResult::accountId).containsExactly(first, second, first, second, first);
+        assertThat(results).extracting(CommandResult::version).containsExactly(2, 2, 3, null, 4);
+        assertThat(results.get(3).status()).isEqualTo(CommandResult.Status.REJECTED);
+        // One append for the account creation and one for the account's whole group.
+        assertThat(eventStore.saves.get(first)).isEqualTo(2);
+        assertThat(eventStore.saves.get(second)).isEqualTo(2);
+    }
+
+    @Test
+    void failsAccountGroupsOverThePartitionLimit() {
+        var busy = createAccount();
+        var partitioner = new AccountPartitioner(8);
+        var idle = createAccountOutsidePartition(partitioner, partitioner.partitionFor(busy));
+        var limiter = new InFlightLimiter(partitioner, 1, 0, new SimpleMeterRegistry());
+        var dispatcher = new CommandDispatcher(service, new AccountLocks(16), partitioner, limiter, Optional.empty());
+        limiter.acquire(partitioner.partitionFor(busy));
+
+        var results = dispatcher.dispatchBatch(List.of(deposit(busy, "1.00"), deposit(idle, "1.00")), "/account/batch", false);
+
+        assertThat(results).extracting(CommandResult::status)
+                .containsExactly(CommandResult.Status.FAILED, CommandResult.Status.APPLIED);
+        assertThat(results.get(0).error()).contains("Too many commands in flight");
+        assertThatCode(() -> limiter.acquire(partitioner.partitionFor(idle))).doesNotThrowAnyException();
+        dispatcher.stop();
+    }
+
+    @Test
+    void completesAMoneyCommandOnlyOnceItsAppendIsAcknowledged() throws Exception {
+        var accountId = createAccount();
+        var partitioner = new AccountPartitioner(8);
+        var dispatcher = new CommandDispatcher(service, new AccountLocks(16), partitioner,
+                new InFlightLimiter(partitioner, 1, 0, new SimpleMeterRegistry()), Optional.empty());
+        eventStore.appendGate = new CompletableFuture<>();
+
+        var response = dispatcher.dispatch(deposit(accountId, "1.00"), "/account/deposit", false);
+
+        eventStore.appendStarted.get(5, TimeUnit.SECONDS);
+        assertThat(response).isNotDone();
+        eventStore.appendGate.complete(null);
+        assertThat(response.join().getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(eventStore.events(accountId)).hasSize(2);
+        dispatcher.stop();
+    }
+
+    private UUID createAccount() {
+        return UUID.fromString(service.accountCreate(new AccountCreateCommand("Ivan Petrov")));
+    }
+
+    private UUID createAccountOutsidePartition(AccountPartitioner partitioner, int partition) {
+        while (true) {
+            var accountId = createAccount();
+            if (partitioner.partitionFor(accountId) != partition) {
+                return accountId;
+            }
+        }
+    }
+
+    private static MoneyCommand deposit(UUID accountId, String amount) {
+        return new MoneyDepositCommand(accountId, new Money(new BigDecimal(amount)));
+    }
+
+    private static MoneyCommand withdraw(UUID accountId, String amount) {
+        return new MoneyWithdrawCommand(accountId, new Money(new BigDecimal(amount)));
+    }
+
+    private static final class InMemoryEventStore implements EventStore {
+        private final Map<UUID, List<DomainEvent>> streams = new ConcurrentHashMap<>();
+        private final Map<UUID, Integer> saves = new ConcurrentHashMap<>();
+        private final Set<UUID> failingAccounts = ConcurrentHashMap.newKeySet();
+        private final CompletableFuture<Void> appendStarted = new CompletableFuture<>();
+        private volatile CompletableFuture<Void> appendGate;
+        private long nextOffset;
+
+        @Override
+        public synchronized long saveEvents(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+            if (events.isEmpty()) {
+                return -1L;
+            }
+            if (failingAccounts.contains(accountId)) {
+                throw new EventPersistenceException("append failed for accountId: " + accountId);
+            }
+            var stream = streams.computeIfAbsent(accountId, id -> new ArrayList<>());
+            if (stream.size() != expectedVersion) {
+                throw new EventVersionConflictException("expected version " + expectedVersion + ", stream is at " + stream.size());
+            }
+            stream.addAll(events);
+            saves.merge(accountId, 1, Integer::sum);
+            nextOffset += events.size();
+            return nextOffset - 1;
+        }
+
+        @Override
+        public CompletableFuture<Long> saveEventsAsync(UUID accountId, int expectedVersion, List<DomainEvent> events) {
+            var gate = appendGate;
+            if (gate == null) {
+                return CompletableFuture.completedFuture(saveEvents(accountId, expectedVersion, events));
+            }
+            appendStarted.complete(null);
+            return gate.thenApply(ignored -> saveEvents(accountId, expectedVersion, events));
+        }
+
+        @Override
+        public synchronized EventStream loadEventStream(UUID aggregateId) {
+            var events = List.copyOf(events(aggregateId));
+            return new EventStream(events, 0, events.size() - 1L, events.size());
+        }
+
+        @Override
+        public EventStream loadEventStreamAfter(UUID aggregateId, long offset, int version) {
+            var events = events(aggregateId);
+            return new EventStream(List.copyOf(events.subList(version, events.size())), 0, offset, events.size());
+        }
+
+        @Override
+        public EventStream loadEventStreamUpToVersion(UUID aggregateId, int targetVersionExclusive) {
+            return new EventStream(List.copyOf(events(aggregateId).subList(0, targetVersionExclusive)), 0, -1L, targetVersionExclusive);
+        }
+
+        private synchronized List<DomainEvent> events(UUID accountId) {
+            return streams.getOrDefault(accountId, List.of());
+        }
+    }
+
+    private static final class NoSnapshotStore implements SnapshotStore {
+        @Override
+        public void saveSnapshots(List<AccountSnapshot> snapshots) {
+        }
+
+        @Override
+        public Optional<AccountSnapshot> getLastSnapshot(UUID accountId) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.bank.accountcommandservice.application;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.bank.accountcommandservice.domain.model.ReplayStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandMetricsTest {
+
+    @Test
+    void scrapesEveryMeterInPrometheusFormat() {
+        var registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        var metrics = new CommandMetrics(registry, ObservationRegistry.create());
+
+        metrics.recordLoad(CommandMetrics.LoadSource.SNAPSHOT, System.nanoTime());
+        metrics.recordReplay(new ReplayStats(10, 2, 512, 1, Duration.ofMillis(3)));
+        metrics.recordAppend(2, System.nanoTime(), true);
+        metrics.recordAppend(1, System.nanoTime(), false);
+
+        var scrape = registry.scrape();
+
+        assertThat(scrape)
+                .contains("command_append_seconds_bucket{outcome=\"success\"")
+                .contains("command_append_seconds_bucket{outcome=\"failure\"")
+                .contains("command_account_load_seconds_count{source=\"snapshot\"} 1")
+                .contains("command_replay_records_scanned_sum");
+    }
+}
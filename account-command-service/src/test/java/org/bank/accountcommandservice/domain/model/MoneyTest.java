@@ -0,0 +1,71 @@
+package org.bank.accountcommandservice.domain.model;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bank.accountcommandservice.domain.exception.NegativeAmountException;
+import org.bank.accountcommandservice.domain.exception.NotEnoughMoneyException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void fallsBackToBigDecimalOnOverflowAndBack() {
+        var max = Money.ofUnits(Long.MAX_VALUE);
+
+        var overflowed = max.deposit(Money.ofUnits(1));
+
+        assertThat(overflowed.amount()).isEqualByComparingTo(BigDecimal.valueOf(Long.MAX_VALUE, Money.SCALE).add(new BigDecimal("0.01")));
+        assertThat(overflowed.withdraw(Money.ofUnits(1))).isEqualTo(max);
+    }
+
+    @Test
+    void keepsAmountsWithMoreThanTwoDecimalsExact() {
+        var money = new Money(new BigDecimal("1.005"));
+
+        assertThat(money.amount()).isEqualByComparingTo("1.005");
+        assertThat(money.deposit(new BigDecimal("0.995")).amount()).isEqualByComparingTo("2");
+        assertThat(money.withdraw(new BigDecimal("0.005"))).isEqualTo(Money.ofUnits(100));
+    }
+
+    @Test
+    void rejectsNegativeAmountsAndOverdrafts() {
+        assertThatThrownBy(() -> new Money(new BigDecimal("-0.01"))).isInstanceOf(NegativeAmountException.class);
+        assertThatThrownBy(() -> Money.ofUnits(-1)).isInstanceOf(NegativeAmountException.class);
+        assertThatThrownBy(() -> Money.ofUnits(100).withdraw(new BigDecimal("1.01"))).isInstanceOf(NotEnoughMoneyException.class);
+        assertThatThrownBy(() -> new Money(new BigDecimal("1.001")).withdraw(new BigDecimal("1.002"))).isInstanceOf(NotEnoughMoneyException.class);
+    }
+
+    @Test
+    void equalsIgnoresScaleAndRepresentation() {
+        var units = Money.ofUnits(1050);
+        var decimal = new Money(new BigDecimal("10.500"));
+
+        assertThat(decimal).isEqualTo(units);
+        assertThat(decimal.hashCode()).isEqualTo(units.hashCode());
+
+        var large = new BigDecimal("123456789012345678901.10");
+        assertThat(new Money(large)).isEqualTo(new Money(new BigDecimal("123456789012345678901.1")));
+        assertThat(new Money(large).hashCode()).isEqualTo(new Money(new BigDecimal("123456789012345678901.1")).hashCode());
+        assertThat(new Money(large)).isNotEqualTo(units);
+    }
+
+    @Test
+    void roundTripsThroughJson() throws Exception {
+        for (var amount : new String[]{"0", "10.50", "0.001", "123456789012345678901.23"}) {
+            var money = new Money(new BigDecimal(amount));
+
+            var json = objectMapper.writeValueAsString(money);
+
+            assertThat(objectMapper.readValue(json, Money.class)).isEqualTo(money);
+            assertThat(objectMapper.reader(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS).readTree(json).get("amount").decimalValue())
+                    .isEqualByComparingTo(amount);
+        }
+    }
+}
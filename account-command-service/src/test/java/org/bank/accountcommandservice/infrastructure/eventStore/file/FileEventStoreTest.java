@@ -0,0 +1,133 @@
+package org.bank.accountcommandservice.infrastructure.eventStore.file;
+
+import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
+import org.bank.accountcommandservice.domain.event.BaseEvent;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
+import org.bank.accountcommandservice.domain.event.MoneyWithdrawnEvent;
+import org.bank.accountcommandservice.domain.model.Money;
+import org.bank.accountcommandservice.infrastructure.exception.EventReplayException;
+import org.bank.accountcommandservice.infrastructure.exception.EventVersionConflictException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileEventStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendsAndLoadsPerAccountStreams() throws Exception {
+        var first = UUID.randomUUID();
+        var second = UUID.randomUUID();
+        var store = open();
+        try {
+            store.saveEvents(first, 0, List.of(created(first), deposited(first, 1, "10.00")));
+            store.saveEvents(second, 0, List.of(created(second)));
+            var lastOffset = store.saveEvents(first, 2, List.of(withdrawn(first, 2, "5.00")));
+
+            var stream = store.loadEventStream(first);
+            assertThat(stream.events()).hasSize(3);
+            assertThat(stream.version()).isEqualTo(3);
+            assertThat(stream.lastReadOffset()).isEqualTo(lastOffset);
+            assertThat(store.loadEventStreamAfter(first, 1L, 2).events()).containsExactly(stream.events().get(2));
+            assertThat(store.loadEventStreamUpToVersion(first, 2).events()).hasSize(2);
+            assertThat(store.loadEventStream(second).events()).hasSize(1);
+            assertThatThrownBy(() -> store.loadEventStreamUpToVersion(second, 2)).isInstanceOf(EventReplayException.class);
+        }
+        finally {
+            store.stop();
+        }
+    }
+
+    @Test
+    void rejectsStaleExpectedVersion() throws Exception {
+        var accountId = UUID.randomUUID();
+        var store = open();
+        try {
+            store.saveEvents(accountId, 0, List.of(created(accountId)));
+
+            assertThatThrownBy(() -> store.saveEvents(accountId, 0, List.of(created(accountId))))
+                    .isInstanceOf(EventVersionConflictException.class);
+        }
+        finally {
+            store.stop();
+        }
+    }
+
+    @Test
+    void recoversIndexAcrossSegmentsAndDropsTornTail() throws Exception {
+        var accountId = UUID.randomUUID();
+        var store = open();
+        try {
+            store.saveEvents(accountId, 0, List.of(created(accountId)));
+            for (int version = 1; version < 100; version++) {
+                store.saveEvents(accountId, version, List.of(deposited(accountId, version, "1.00")));
+            }
+        }
+        finally {
+            store.stop();
+        }
+        assertThat(directory.resolve(String.format("%010d.segment", 1))).exists();
+        corruptTail();
+
+        var reopened = open();
+        try {
+            var stream = reopened.loadEventStream(accountId);
+            assertThat(stream.version()).isEqualTo(100);
+            assertThat(stream.events()).hasSize(100);
+
+            reopened.saveEvents(accountId, 100, List.<DomainEvent>of(withdrawn(accountId, 100, "1.00")));
+            assertThat(reopened.loadEventStream(accountId).version()).isEqualTo(101);
+        }
+        finally {
+            reopened.stop();
+        }
+    }
+
+    private FileEventStore open() throws IOException {
+        var store = new FileEventStore(directory, SEGMENT_SIZE, false, false, "account-events", null);
+        store.start();
+        return store;
+    }
+
+    private void corruptTail() throws IOException {
+        var segments = directory.toFile().list((dir, name) -> name.endsWith(".segment"));
+        var last = directory.resolve(String.format("%010d.segment", segments.length - 1));
+        try (var channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+            var position = 0;
+            while (buffer.getInt(position) != 0) {
+                position += SegmentedEventLog.HEADER_SIZE + buffer.getInt(position);
+            }
+            buffer.putInt(position, 64);
+            buffer.putInt(position + Integer.BYTES, 12345);
+            buffer.force();
+        }
+    }
+
+    private static AccountCreatedEvent created(UUID accountId) {
+        return new AccountCreatedEvent(BaseEvent.newBaseEvent(accountId, 0), "Ivan Petrov", new Money(BigDecimal.ZERO));
+    }
+
+    private static MoneyDepositedEvent deposited(UUID accountId, int version, String amount) {
+        return new MoneyDepositedEvent(BaseEvent.newBaseEvent(accountId, version), new Money(new BigDecimal(amount)));
+    }
+
+    private static MoneyWithdrawnEvent withdrawn(UUID accountId, int version, String amount) {
+        return new MoneyWithdrawnEvent(BaseEvent.newBaseEvent(accountId, version), new Money(new BigDecimal(amount)));
+    }
+}
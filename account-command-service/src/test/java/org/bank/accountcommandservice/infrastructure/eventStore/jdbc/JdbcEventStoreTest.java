@@ -0,0 +1,108 @@
+package org.bank.accountcommandservice.infrastructure.eventStore.jdbc;
+
+import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
+import org.bank.accountcommandservice.domain.event.BaseEvent;
+import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
+import org.bank.accountcommandservice.domain.model.Money;
+import org.bank.accountcommandservice.infrastructure.exception.EventVersionConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdbcEventStoreTest {
+
+    private StaleVersionJdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private JdbcEventStore store;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:events-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new StaleVersionJdbcTemplate(dataSource);
+        jdbcTemplate.execute(JdbcEventStore.CREATE_TABLE_SQL);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        store = new JdbcEventStore(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void appendsAndLoadsStream() {
+        var accountId = UUID.randomUUID();
+
+        var first = store.saveEvents(accountId, 0, List.of(created(accountId)));
+        var second = store.saveEvents(accountId, 1, List.of(deposited(accountId, 1, "10.00"), deposited(accountId, 2, "5.00")));
+
+        assertThat(second).isGreaterThan(first);
+        var stream = store.loadEventStream(accountId);
+        assertThat(stream.events()).hasSize(3);
+        assertThat(stream.version()).isEqualTo(3);
+        assertThat(stream.lastReadOffset()).isEqualTo(second);
+    }
+
+    @Test
+    void rejectsStaleExpectedVersion() {
+        var accountId = UUID.randomUUID();
+        store.saveEvents(accountId, 0, List.of(created(accountId)));
+
+        assertThatThrownBy(() -> store.saveEvents(accountId, 0, List.of(created(accountId))))
+                .isInstanceOf(EventVersionConflictException.class);
+    }
+
+    @Test
+    void mapsDuplicateKeyFromConcurrentWriterToVersionConflict() {
+        var accountId = UUID.randomUUID();
+        store.saveEvents(accountId, 0, List.of(created(accountId)));
+
+        // The version check misses the other writer's row, as if its insert had not committed yet, so the primary key has to catch it.
+        jdbcTemplate.staleVersion = 0;
+        assertThatThrownBy(() -> store.saveEvents(accountId, 0, List.of(created(accountId))))
+                .isInstanceOf(EventVersionConflictException.class)
+                .hasMessageContaining("written concurrently");
+        assertThat(store.loadEventStream(accountId).events()).hasSize(1);
+    }
+
+    @Test
+    void joinsCallerTransaction() {
+        var accountId = UUID.randomUUID();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            store.saveEvents(accountId, 0, List.of(created(accountId)));
+            status.setRollbackOnly();
+        });
+
+        assertThat(store.loadEventStream(accountId).events()).isEmpty();
+    }
+
+    private static AccountCreatedEvent created(UUID accountId) {
+        return new AccountCreatedEvent(BaseEvent.newBaseEvent(accountId, 0), "Ivan Petrov", new Money(BigDecimal.ZERO));
+    }
+
+    private static MoneyDepositedEvent deposited(UUID accountId, int version, String amount) {
+        return new MoneyDepositedEvent(BaseEvent.newBaseEvent(accountId, version), new Money(new BigDecimal(amount)));
+    }
+
+    private static final class StaleVersionJdbcTemplate extends JdbcTemplate {
+        private Integer staleVersion;
+
+        private StaleVersionJdbcTemplate(DriverManagerDataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+            if (staleVersion != null && requiredType == Integer.class) {
+                return requiredType.cast(staleVersion);
+            }
+            return super.queryForObject(sql, requiredType, args);
+        }
+    }
+}
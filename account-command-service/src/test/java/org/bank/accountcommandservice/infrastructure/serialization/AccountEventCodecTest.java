@@ -0,0 +1,93 @@
+package org.bank.accountcommandservice.infrastructure.serialization;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.bank.accountcommandservice.domain.event.AccountCreatedEvent;
+import org.bank.accountcommandservice.domain.event.BaseEvent;
+import org.bank.accountcommandservice.domain.event.DomainEvent;
+import org.bank.accountcommandservice.domain.event.MoneyDepositedEvent;
+import org.bank.accountcommandservice.domain.event.MoneyWithdrawnEvent;
+import org.bank.accountcommandservice.domain.model.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountEventCodecTest {
+
+    private final AccountEventCodec codec = new AccountEventCodec();
+
+    @Test
+    void roundTripsEveryEventType() {
+        var accountId = UUID.randomUUID();
+        var events = new DomainEvent[]{
+                new AccountCreatedEvent(BaseEvent.newBaseEvent(accountId, 1), "Ivan Petrov", new Money(new BigDecimal("100.50"))),
+                new MoneyDepositedEvent(BaseEvent.newBaseEvent(accountId, 2), new Money(new BigDecimal("12345678901234567890.01"))),
+                new MoneyWithdrawnEvent(BaseEvent.newBaseEvent(accountId, 3), new Money(BigDecimal.ZERO))
+        };
+
+        for (var event : events) {
+            var bytes = codec.encode(event);
+
+            assertThat(AccountEventCodec.isEncoded(bytes)).isTrue();
+            assertThat(codec.decode(bytes)).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void rejectsCorruptFieldLengths() {
+        var accountId = UUID.randomUUID();
+        var created = codec.encode(new AccountCreatedEvent(BaseEvent.newBaseEvent(accountId, 0), "Ivan Petrov", new Money(BigDecimal.ZERO)));
+        var deposited = codec.encode(new MoneyDepositedEvent(BaseEvent.newBaseEvent(accountId, 1), new Money(new BigDecimal("10.00"))));
+        var nameLength = 3 + 48;
+        var moneyLength = 3 + 48 + 4;
+
+        for (var length : new int[]{-2, Integer.MIN_VALUE, Integer.MAX_VALUE, created.length}) {
+            var corrupt = ByteBuffer.wrap(created.clone()).putInt(nameLength, length).array();
+            assertThatThrownBy(() -> codec.decode(corrupt)).isInstanceOf(SerializationException.class);
+        }
+        for (var length : new int[]{-1, 0, Integer.MAX_VALUE, deposited.length}) {
+            var corrupt = ByteBuffer.wrap(deposited.clone()).putInt(moneyLength, length).array();
+            assertThatThrownBy(() -> codec.decode(corrupt)).isInstanceOf(SerializationException.class);
+        }
+    }
+
+    @Test
+    void rejectsNegativeAmounts() {
+        var accountId = UUID.randomUUID();
+        var deposited = codec.encode(new MoneyDepositedEvent(BaseEvent.newBaseEvent(accountId, 1), new Money(new BigDecimal("10.00"))));
+        var large = codec.encode(new MoneyDepositedEvent(BaseEvent.newBaseEvent(accountId, 1), new Money(new BigDecimal("1.005"))));
+        var amountOffset = 3 + 48 + 8;
+
+        var negativeUnits = deposited.clone();
+        negativeUnits[amountOffset] |= (byte) 0x80;
+        var negativeDecimal = large.clone();
+        negativeDecimal[amountOffset] |= (byte) 0x80;
+
+        assertThatThrownBy(() -> codec.decode(negativeUnits)).isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> codec.decode(negativeDecimal)).isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void fallsBackToJsonForLegacyRecords() {
+        var deserializer = new AccountEventDeserializer();
+        deserializer.configure(Map.of(
+                "spring.json.value.default.type", MoneyDepositedEvent.class.getName(),
+                "spring.json.trusted.packages", "*"
+        ), false);
+        var accountId = UUID.randomUUID();
+        var json = """
+                {"baseEvent":{"eventUUID":"%s","accountId":"%s","timestamp":"2024-05-01T10:15:30","aggregateVersion":2},
+                 "amountDeposited":{"amount":10.00}}
+                """.formatted(UUID.randomUUID(), accountId);
+
+        var event = (MoneyDepositedEvent) deserializer.deserialize("account-events", json.getBytes());
+
+        assertThat(event.baseEvent().accountId()).isEqualTo(accountId);
+        assertThat(event.amountDeposited().amount()).isEqualByComparingTo("10.00");
+    }
+}